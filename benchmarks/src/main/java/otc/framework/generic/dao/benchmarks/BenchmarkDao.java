@@ -0,0 +1,47 @@
+package otc.framework.generic.dao.benchmarks;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import otc.framework.generic.dao.AbstractDaoImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A dao over a private in-memory H2 database, with the tables the benchmarks use.
+ */
+public class BenchmarkDao extends AbstractDaoImpl {
+
+    static final String PERSON_TABLE = "person";
+
+    BenchmarkDao(String databaseName) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + PERSON_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + PERSON_TABLE + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "first_name VARCHAR(50), last_name VARCHAR(50), age INT, score DOUBLE, city VARCHAR(30))");
+    }
+
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE " + PERSON_TABLE);
+    }
+
+    void insertRows(int rowCount) {
+        jdbcTemplate.update("INSERT INTO " + PERSON_TABLE + " (first_name, last_name, age, score, city) "
+                + "SELECT 'first' || x, 'last' || x, MOD(x, 90), x * 0.5, 'city' || MOD(x, 20) "
+                + "FROM SYSTEM_RANGE(1, ?)", rowCount);
+    }
+
+    static Map<String, Object> createRow(int idx) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("first_name", "first" + idx);
+        row.put("last_name", "last" + idx);
+        row.put("age", idx % 90);
+        row.put("score", idx * 0.5);
+        row.put("city", "city" + idx % 20);
+        return row;
+    }
+}
@@ -0,0 +1,104 @@
+package otc.framework.generic.dao.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import otc.framework.generic.dao.CompactRow;
+import otc.framework.generic.dao.InsertStatementBuilder;
+import otc.framework.generic.dao.NamedParameterArgumentsArrayBuilder;
+import otc.framework.generic.dao.SelectQueryBuilder;
+import otc.framework.generic.dao.UpdateStatementBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the statement and parameter builders - no database involved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuilderBenchmark {
+
+    private static final int PARAMETER_SETS = 100;
+
+    private int id;
+
+    @Benchmark
+    public String selectNewBuilder() {
+        return select(SelectQueryBuilder.newBuilder());
+    }
+
+    @Benchmark
+    public String selectThreadLocalBuilder() {
+        return select(SelectQueryBuilder.threadLocalBuilder());
+    }
+
+    @Benchmark
+    public String selectInline() {
+        return SelectQueryBuilder.newBuilder()
+                .column("id").column("first_name").column("age")
+                .from(BenchmarkDao.PERSON_TABLE)
+                .where().equals("city", "city1").and().greaterThan("age", id++ & 63)
+                .build();
+    }
+
+    @Benchmark
+    public String updatePositional() {
+        return UpdateStatementBuilder.threadLocalBuilder().usePositionalParameters()
+                .table(BenchmarkDao.PERSON_TABLE)
+                .set("age", id++ & 63).set("city", "city2")
+                .where().equals("id", id)
+                .build();
+    }
+
+    @Benchmark
+    public String insertMultiRow() {
+        return InsertStatementBuilder.threadLocalBuilder()
+                .into(BenchmarkDao.PERSON_TABLE)
+                .column("first_name").column("last_name").column("age").column("score").column("city")
+                .values().rows(20)
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, Object>[] parameterMaps() {
+        return fillParameterSets().build();
+    }
+
+    @Benchmark
+    public CompactRow[] compactRows() {
+        return fillParameterSets().buildRows();
+    }
+
+    private String select(SelectQueryBuilder builder) {
+        return builder.usePositionalParameters()
+                .column("id").column("first_name").column("age")
+                .from(BenchmarkDao.PERSON_TABLE)
+                .where().equals("city", "city1").and().greaterThan("age", id++ & 63)
+                .orderBy("id").limit(50)
+                .build();
+    }
+
+    private NamedParameterArgumentsArrayBuilder fillParameterSets() {
+        NamedParameterArgumentsArrayBuilder builder = NamedParameterArgumentsArrayBuilder.newBuilder();
+        for (int idx = 0; idx < PARAMETER_SETS; idx++) {
+            builder.newSet()
+                    .addNameAndValue("first_name", "first")
+                    .addNameAndValue("last_name", "last")
+                    .addNameAndValue("age", idx)
+                    .addNameAndValue("score", 0.5)
+                    .addNameAndValue("city", "city");
+        }
+        return builder;
+    }
+}
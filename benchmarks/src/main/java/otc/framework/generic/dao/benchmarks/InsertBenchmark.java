@@ -0,0 +1,89 @@
+package otc.framework.generic.dao.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import otc.framework.generic.dao.CompactRow;
+import otc.framework.generic.dao.RowSchema;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting the same rows one at a time, as a JDBC batch of maps, as a JDBC batch of compact rows and as
+ * multi-row statements. Scores are rows per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+
+    private static final int ROW_COUNT = 1000;
+
+    private BenchmarkDao dao;
+
+    private Map<String, Object>[] rows;
+
+    private CompactRow[] compactRows;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        dao = new BenchmarkDao("insert");
+        rows = new Map[ROW_COUNT];
+        RowSchema schema = RowSchema.of("first_name", "last_name", "age", "score", "city");
+        compactRows = new CompactRow[ROW_COUNT];
+        for (int idx = 0; idx < ROW_COUNT; idx++) {
+            rows[idx] = BenchmarkDao.createRow(idx);
+            compactRows[idx] = schema.row(rows[idx]);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        dao.truncate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public int singleRowInserts() {
+        int count = 0;
+        for (Map<String, Object> row : rows) {
+            count += dao.executeInsert(null, BenchmarkDao.PERSON_TABLE, row);
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public int[] batchInsertOfMaps() {
+        return dao.executeBatchInsert(null, BenchmarkDao.PERSON_TABLE, rows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public int[] batchInsertOfCompactRows() {
+        return dao.executeBatchInsert(null, BenchmarkDao.PERSON_TABLE, compactRows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public int multiRowInsert() {
+        List<Map<String, Object>> rowList = Arrays.asList(rows);
+        return dao.executeMultiRowInsert(null, BenchmarkDao.PERSON_TABLE, rowList);
+    }
+}
@@ -0,0 +1,135 @@
+package otc.framework.generic.dao.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import otc.framework.generic.dao.ColumnarResult;
+import otc.framework.generic.dao.DtoRowMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the same rows into maps, into beans with spring's mapper and with {@link DtoRowMapper}, and into a
+ * {@link ColumnarResult}. Scores are queries per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+
+    private static final String QUERY = "SELECT id, first_name, last_name, age, score, city FROM "
+            + BenchmarkDao.PERSON_TABLE + " WHERE id <= ?";
+
+    @Param({"100", "10000"})
+    private int rowCount;
+
+    private BenchmarkDao dao;
+
+    private Object[] params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dao = new BenchmarkDao("query");
+        dao.insertRows(rowCount);
+        params = new Object[] {rowCount};
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> columnMapRowMapper() {
+        return dao.executeQuery(QUERY, params, new ColumnMapRowMapper());
+    }
+
+    @Benchmark
+    public List<PersonDto> beanPropertyRowMapper() {
+        return dao.executeQuery(QUERY, params, new BeanPropertyRowMapper<>(PersonDto.class));
+    }
+
+    @Benchmark
+    public List<PersonDto> dtoRowMapper() {
+        return dao.executeQuery(QUERY, params, DtoRowMapper.of(PersonDto.class));
+    }
+
+    @Benchmark
+    public ColumnarResult columnar() {
+        return dao.executeQueryForColumns(QUERY, params);
+    }
+
+    public static class PersonDto {
+
+        private long id;
+
+        private String firstName;
+
+        private String lastName;
+
+        private int age;
+
+        private double score;
+
+        private String city;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+}
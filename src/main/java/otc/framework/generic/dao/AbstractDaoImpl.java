@@ -26,26 +26,74 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
 import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.ClassUtils;
+import otc.framework.generic.dao.DaoMetrics.OPERATION;
+import otc.framework.generic.dao.SequenceAllocator.ALLOCATION_STRATEGY;
+import otc.framework.generic.dao.dialect.SqlDialect;
+import otc.framework.generic.dao.dialect.SqlDialectFactory;
+import otc.framework.generic.dao.dto.AsyncDaoOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto.ERROR_POLICY;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto.LOAD_MODE;
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+import otc.framework.generic.dao.dto.BatchInsertResultDto.ChunkResultDto;
+import otc.framework.generic.dao.dto.BatchUpsertResultDto;
+import otc.framework.generic.dao.dto.BatchUpsertResultDto.OUTCOME;
+import otc.framework.generic.dao.dto.CacheStatsDto;
+import otc.framework.generic.dao.dto.KeysetPageDto;
+import otc.framework.generic.dao.dto.SequenceStatsDto;
+import otc.framework.generic.dao.dto.TableColumnDto;
 import otc.framework.generic.dao.dto.TableMetaDataDto;
 import otc.framework.generic.dao.dto.TableMetaDataDto.ColumnMetaDataDto;
 import otc.framework.generic.dao.dto.TableMetaDataDto.ColumnMetaDataDto.CONSTRAINTS;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+import otc.framework.generic.dao.exception.GenericDaoBatchInsertException;
 import otc.framework.generic.dao.exception.GenericDaoException;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
 
 import javax.sql.DataSource;
-import java.lang.reflect.Field;
-import java.sql.Connection;
+import java.sql.Array;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -56,8 +104,21 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDaoImpl.class);
 
-	/** The Constant simpleTypes. */
-	protected static final List<Class<?>> simpleTypes = new ArrayList<>();
+	/** The Constant simpleTypes - the field types a bean exposes as parameters, see {@link BeanParameterSource}. */
+	protected static final Set<Class<?>> simpleTypes = new HashSet<>();
+
+	/** Appended to a PostgreSQL upsert - returns, for each row written, whether it was inserted. */
+	private static final String RETURNING_INSERTED = " RETURNING (xmax = 0)";
+
+	/** Matches a column against the elements of one array parameter - PostgreSQL. */
+	private static final String EQUALS_ANY = " = ANY(?)";
+
+	/** Whether the PostgreSQL driver, and with it COPY, is on the class path. */
+	/** The number of batch insert threads started, for their names. */
+	private static final AtomicInteger BATCH_INSERT_THREAD_COUNT = new AtomicInteger();
+
+	private static final boolean POSTGRES_DRIVER_PRESENT = ClassUtils.isPresent("org.postgresql.PGConnection",
+			AbstractDaoImpl.class.getClassLoader());
 
 	/** The data source. */
 	@Autowired
@@ -71,6 +132,40 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	@Autowired
 	protected NamedParameterJdbcTemplate namedJdbcTemplate;
 
+	/** The parsed named-sql statements, keyed by sql. */
+	private final BoundedCache<String, ParsedSql> parsedSqlCache = new BoundedCache<>(DEFAULT_PARSED_SQL_CACHE_SIZE);
+
+	/** The compiled inserts, keyed by schema, table, column-set and generated-key columns. */
+	private final BoundedCache<InsertKey, SimpleJdbcInsert> jdbcInsertCache =
+			new BoundedCache<>(DEFAULT_INSERT_CACHE_SIZE);
+
+	/** The table and column meta-data. */
+	private final TableMetaDataCache tableMetaDataCache = new TableMetaDataCache(() -> jdbcTemplate.getDataSource(),
+			DEFAULT_TABLE_META_DATA_CACHE_SIZE, DEFAULT_TABLE_META_DATA_TTL_MILLIS);
+
+	/** The pooled sequences. */
+	private final SequenceAllocator sequenceAllocator = new SequenceAllocator(() -> jdbcTemplate, this::getDialect);
+
+	/** The query results, cached for the opted-in tables only. */
+	private final QueryResultCache queryResultCache = new QueryResultCache(DEFAULT_QUERY_RESULT_CACHE_SIZE,
+			DEFAULT_QUERY_RESULT_CACHE_TTL_MILLIS);
+
+	/** The statement timing, off until metrics or a slow-statement threshold are set. */
+	private final StatementMetrics statementMetrics = new StatementMetrics();
+
+	/** The sql dialect, detected from the connection metadata on first use unless set. */
+	private volatile SqlDialect sqlDialect;
+
+	/** Whether the data source hands out PostgreSQL driver connections, checked on the first COPY. */
+	private volatile Boolean copySupported;
+
+	/** The threads of parallel batch inserts - shared by all loads, and let go after a minute idle. */
+	private final ExecutorService batchInsertExecutor = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "generic-dao-batch-insert-" + BATCH_INSERT_THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	static {
 		simpleTypes.add(String.class);
 		simpleTypes.add(short.class);
@@ -123,34 +218,132 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public boolean isTableExists(String tableName) {
-		try {
-			Connection connection = jdbcTemplate.getDataSource().getConnection();
-			DatabaseMetaData databaseMetaData = connection.getMetaData();
-			ResultSet resultSet = databaseMetaData.getTables(null, null, tableName, null);
-			if (resultSet.next()) {
-				return true;
-			}
-		} catch (SQLException e) {
-			LOGGER.error(e.getMessage());
-		}
-		return false;
+		return isTableExists(null, tableName);
+	}
+
+	/**
+	 * Checks if is table exists.
+	 *
+	 * @param schema the schema
+	 * @param tableName the table name
+	 * @return true, if is table exists
+	 */
+	@Override
+	public boolean isTableExists(String schema, String tableName) {
+		return tableMetaDataCache.isTableExists(schema, tableName);
+	}
+
+	/**
+	 * Gets the table columns.
+	 *
+	 * @param schema the schema
+	 * @param tableName the table name
+	 * @return the table columns
+	 */
+	@Override
+	public Map<String, TableColumnDto> getTableColumns(String schema, String tableName) {
+		return tableMetaDataCache.getColumns(schema, tableName);
+	}
+
+	/**
+	 * Refresh table meta data.
+	 *
+	 * @param schema the schema
+	 * @param tableName the table name
+	 */
+	@Override
+	public void refreshTableMetaData(String schema, String tableName) {
+		tableMetaDataCache.refresh(schema, Collections.singleton(tableName));
+		invalidateInsertCache(schema, tableName);
+	}
+
+	/**
+	 * Refresh table meta data.
+	 */
+	@Override
+	public void refreshTableMetaData() {
+		tableMetaDataCache.invalidateAll();
+		invalidateInsertCache();
+	}
+
+	/**
+	 * Gets the table meta data cache stats.
+	 *
+	 * @return the table meta data cache stats
+	 */
+	@Override
+	public CacheStatsDto getTableMetaDataCacheStats() {
+		return tableMetaDataCache.getStats();
+	}
+
+	/**
+	 * Sets the max number of tables whose meta-data is kept.
+	 *
+	 * @param maxSize the max size
+	 */
+	public void setTableMetaDataCacheMaxSize(int maxSize) {
+		tableMetaDataCache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Sets how long table meta-data is trusted before it is read again; 0 keeps it until refreshed.
+	 *
+	 * @param ttlMillis the ttl millis
+	 */
+	public void setTableMetaDataTtlMillis(long ttlMillis) {
+		tableMetaDataCache.setTtlMillis(ttlMillis);
+	}
+
+	/**
+	 * Sets the metrics every execute method records to, e.g. a {@link MicrometerDaoMetrics}; null or
+	 * {@link DaoMetrics#NOOP} stops recording.
+	 *
+	 * @param daoMetrics the dao metrics
+	 */
+	public void setDaoMetrics(DaoMetrics daoMetrics) {
+		statementMetrics.setDaoMetrics(daoMetrics);
+	}
+
+	/**
+	 * Sets the time after which a statement is logged as slow, with its literals redacted; -1 turns it off.
+	 *
+	 * @param thresholdMillis the threshold millis
+	 */
+	public void setSlowStatementThresholdMillis(long thresholdMillis) {
+		statementMetrics.setSlowThresholdMillis(thresholdMillis);
+	}
+
+	/**
+	 * Creates an async view of this dao, on its own bounded executor - close it when done.
+	 *
+	 * @param options the options
+	 * @return the async dao
+	 */
+	public AsyncBaseDao createAsyncDao(AsyncDaoOptionsDto options) {
+		return new AsyncDaoImpl(this, jdbcTemplate.getDataSource(), options);
 	}
 
 	/**
 	 * Creates the table.
 	 *
 	 * @param tableMetaDataDto the table meta data dto
-	 * @return true, if successful
+	 * @return true, if successful; false, if the table already exists
 	 */
 	@Override
 	public boolean createTable(TableMetaDataDto tableMetaDataDto) {
 		if (tableMetaDataDto.getColumns().isEmpty()) {
 			throw new GenericDaoException("Cannot create table - table-columns meta info not available !");
 		}
+		String tableName = tableMetaDataDto.getTableName();
+		if (isTableExists(tableName)) {
+			return false;
+		}
 		StringBuilder sql = null;
 		for (ColumnMetaDataDto columnMetaDataDto : tableMetaDataDto.getColumns()) {
 			if (sql == null) {
-				sql = new StringBuilder(CREATE_TABLE).append(tableMetaDataDto.getTableName());
+				sql = new StringBuilder(CREATE_TABLE).append(SPACE)
+						.append(tableName)
+						.append(OPEN_PARANTHESIS);
 			} else {
 				sql.append(COMMA);
 			}
@@ -166,8 +359,10 @@ public abstract class AbstractDaoImpl implements BaseDao {
 				}
 			}
 		}
-		sql.append(SEMI_COLON);
+		sql.append(')')
+			.append(SEMI_COLON);
 		jdbcTemplate.execute(sql.toString());
+		refreshTableMetaData(null, tableName);
 		return true;
 	}
 
@@ -179,10 +374,41 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public long fetchNextSeqValue(String seqName) {
-		String sql = SELECT
-					.concat(seqName)
-					.concat(NEXTVAL_FROM_DUAL);
-		return jdbcTemplate.queryForObject(sql, Long.class);
+		Utility.validateSequenceName(seqName);
+		return jdbcTemplate.queryForObject(getDialect().nextSequenceValue(seqName), Long.class);
+	}
+
+	/**
+	 * Fetch next pooled seq value.
+	 *
+	 * @param seqName the seq name
+	 * @return the long
+	 */
+	@Override
+	public long fetchNextPooledSeqValue(String seqName) {
+		return sequenceAllocator.next(seqName);
+	}
+
+	/**
+	 * Configure sequence.
+	 *
+	 * @param seqName the seq name
+	 * @param blockSize the block size
+	 * @param strategy the strategy
+	 */
+	@Override
+	public void configureSequence(String seqName, int blockSize, ALLOCATION_STRATEGY strategy) {
+		sequenceAllocator.configure(seqName, blockSize, strategy);
+	}
+
+	/**
+	 * Gets the sequence stats.
+	 *
+	 * @return the sequence stats
+	 */
+	@Override
+	public Map<String, SequenceStatsDto> getSequenceStats() {
+		return sequenceAllocator.getStats();
 	}
 
 	/**
@@ -194,8 +420,41 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeInsert(String table, Map<String, Object> params) {
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params.keySet(), null);
-		return jdbcInsert.execute(params);
+		return executeInsert(null, table, params);
+	}
+
+	/**
+	 * Execute insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @return the int
+	 */
+	@Override
+	public int executeInsert(String schema, String table, Map<String, Object> params) {
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, params.keySet(), null);
+		return timed(OPERATION.INSERT, table, jdbcInsert.getInsertString(), 0,
+				() -> jdbcInsert.execute(createTypedParamSource(schema, table, params)));
+	}
+
+	/**
+	 * Execute insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param paramSource the param source
+	 * @return the int
+	 */
+	@Override
+	public int executeInsert(String schema, String table, SqlParameterSource paramSource) {
+		String[] paramNames = paramSource.getParameterNames();
+		if (paramNames == null) {
+			throw new GenericDaoValidationException("The param source of an insert must list its parameter names !");
+		}
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table,
+				new HashSet<>(Arrays.asList(paramNames)), null);
+		return timed(OPERATION.INSERT, table, jdbcInsert.getInsertString(), 0, () -> jdbcInsert.execute(paramSource));
 	}
 
 	/**
@@ -210,8 +469,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	public KeyHolder executeInsertAndReturnKeyHolder(String table, Map<String, Object> params, String generatedKeyName) {
 		Set<String> generatedKeyNames = new HashSet<>();
 		generatedKeyNames.add(generatedKeyName);
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params.keySet(), generatedKeyNames);
-		return jdbcInsert.executeAndReturnKeyHolder(params);
+		return executeInsertAndReturnKeyHolder(null, table, params, generatedKeyNames);
 	}
 
 	/**
@@ -225,8 +483,24 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	@Override
 	public KeyHolder executeInsertAndReturnKeyHolder(String table, Map<String, Object> params,
 			Set<String> generatedKeyNames) {
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params.keySet(), generatedKeyNames);
-		return jdbcInsert.executeAndReturnKeyHolder(params);
+		return executeInsertAndReturnKeyHolder(null, table, params, generatedKeyNames);
+	}
+
+	/**
+	 * Execute insert and return key holder.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyNames the generated keys
+	 * @return the key holder
+	 */
+	@Override
+	public KeyHolder executeInsertAndReturnKeyHolder(String schema, String table, Map<String, Object> params,
+			Set<String> generatedKeyNames) {
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, params.keySet(), generatedKeyNames);
+		return timed(OPERATION.INSERT, table, jdbcInsert.getInsertString(), 0,
+				() -> jdbcInsert.executeAndReturnKeyHolder(createTypedParamSource(schema, table, params)));
 	}
 
 	/**
@@ -241,8 +515,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	public <T> T executeInsertAndReturnKey(String table, Map<String, Object> params, String generatedKeyName) {
 		Set<String> generatedKeyNames = new HashSet<>();
 		generatedKeyNames.add(generatedKeyName);
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params.keySet(), generatedKeyNames);
-		return (T) jdbcInsert.executeAndReturnKey(params);
+		return executeInsertAndReturnKey(null, table, params, generatedKeyNames);
 	}
 
 	/**
@@ -255,130 +528,744 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public <T> T  executeInsertAndReturnKey(String table, Map<String, Object> params, Set<String> generatedKeyNames) {
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params.keySet(), generatedKeyNames);
-		return (T) jdbcInsert.executeAndReturnKey(params);
+		return executeInsertAndReturnKey(null, table, params, generatedKeyNames);
 	}
 
 	/**
-	 * Execute batch insert.
+	 * Execute insert and return key.
 	 *
+	 * @param schema the schema
 	 * @param table the table
 	 * @param params the params
-	 * @return the int[]
+	 * @param generatedKeyNames the generated keys
+	 * @return the object
 	 */
 	@Override
-	public int[] executeBatchInsert(String table, Map<String, Object>[] params) {
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params, null);
-		return jdbcInsert.executeBatch(params);
+	public <T> T executeInsertAndReturnKey(String schema, String table, Map<String, Object> params,
+			Set<String> generatedKeyNames) {
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, params.keySet(), generatedKeyNames);
+		return (T) timed(OPERATION.INSERT, table, jdbcInsert.getInsertString(), 0,
+				() -> jdbcInsert.executeAndReturnKey(createTypedParamSource(schema, table, params)));
 	}
 
 	/**
 	 * Execute batch insert.
 	 *
-	 * @param schema the schema
 	 * @param table the table
 	 * @param params the params
 	 * @return the int[]
 	 */
 	@Override
-	public int[] executeBatchInsert(String schema, String table, Map<String, Object>[] params) {
-		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(null, table, params, null);
-		return jdbcInsert.executeBatch(params);
+	public int[] executeBatchInsert(String table, Map<String, Object>[] params) {
+		return executeBatchInsert(null, table, params);
 	}
 
 	/**
-	 * Execute batch upsert.
+	 * Execute batch insert.
 	 *
-	 * @param lstBatchSql the lst batch sql
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
 	 * @return the int[]
 	 */
 	@Override
-	public int[] executeBatchUpsert(List<String> lstBatchSql) {
-		LOGGER.debug(lstBatchSql.toString());
-		long startTime = System.nanoTime();
-		String[] arrSql = lstBatchSql.toArray(new String[lstBatchSql.size()]);
-		int[] arrCount = jdbcTemplate.batchUpdate(arrSql);
-		LOGGER.debug("Executed 'executeBatchInsertOrUpdate(..)' in (millis) = "
-				+ (System.nanoTime() - startTime) / NANOS_IN_ONE_MILLI);
-		return arrCount;
+	public int[] executeBatchInsert(String schema, String table, Map<String, Object>[] params) {
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, params, null);
+		Map<String, TableColumnDto> columns = tableMetaDataCache.getColumns(schema, table);
+		SqlParameterSource[] paramSources = new SqlParameterSource[params.length];
+		for (int idx = 0; idx < params.length; idx++) {
+			paramSources[idx] = createTypedParamSource(columns, params[idx]);
+		}
+		return timed(OPERATION.BATCH_INSERT, table, jdbcInsert.getInsertString(), params.length,
+				() -> jdbcInsert.executeBatch(paramSources));
 	}
 
 	/**
-	 * Execute query.
+	 * Execute batch insert.
 	 *
-	 * @param <T> the generic type
-	 * @param query the query
-	 * @param cls the cls
-	 * @return the t
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @return the int[]
 	 */
 	@Override
-	public <T> T executeQuery(String query, Class<T> cls) {
-		return jdbcTemplate.queryForObject(query, cls);
+	public int[] executeBatchInsert(String schema, String table, SqlParameterSource[] params) {
+		if (params.length == 0) {
+			return new int[0];
+		}
+		RowSchema rowSchema = findSharedRowSchema(params);
+		Set<String> columnNames = new HashSet<>();
+		for (SqlParameterSource paramSource : rowSchema == null ? params : new SqlParameterSource[] {params[0]}) {
+			String[] paramNames = paramSource.getParameterNames();
+			if (paramNames == null) {
+				throw new GenericDaoValidationException(
+						"The param source of an insert must list its parameter names !");
+			}
+			columnNames.addAll(Arrays.asList(paramNames));
+		}
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, columnNames, null);
+		if (rowSchema == null) {
+			return timed(OPERATION.BATCH_INSERT, table, jdbcInsert.getInsertString(), params.length,
+					() -> jdbcInsert.executeBatch(params));
+		}
+		// rows of one schema are bound by slot - no per-row name lookup or map
+		List<String> insertColumnNames = getInsertColumnNames(jdbcInsert);
+		int[] columnTypes = resolveColumnTypes(schema, table, insertColumnNames);
+		int[] slots = new int[insertColumnNames.size()];
+		for (int idx = 0; idx < slots.length; idx++) {
+			slots[idx] = rowSchema.indexOf(insertColumnNames.get(idx));
+			int sqlType = rowSchema.getSqlType(slots[idx]);
+			if (sqlType != SqlTypeValue.TYPE_UNKNOWN) {
+				columnTypes[idx] = sqlType;
+			}
+		}
+		BatchPreparedStatementSetter pss = new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				CompactRow row = (CompactRow) params[i];
+				for (int idx = 0; idx < slots.length; idx++) {
+					StatementCreatorUtils.setParameterValue(ps, idx + 1, columnTypes[idx], row.get(slots[idx]));
+				}
+			}
+
+			@Override
+			public int getBatchSize() {
+				return params.length;
+			}
+		};
+		String insertSql = jdbcInsert.getInsertString();
+		return timed(OPERATION.BATCH_INSERT, table, insertSql, params.length,
+				() -> jdbcTemplate.batchUpdate(insertSql, pss));
 	}
 
 	/**
-	 * Execute query.
+	 * Execute batch insert and return keys.
 	 *
-	 * @param <T> the generic type
-	 * @param query the query
-	 * @param rowMapper the row mapper
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyName the generated key
 	 * @return the list
 	 */
 	@Override
-	public <T> List<T> executeQuery(String query, RowMapper<T> rowMapper) {
-		return jdbcTemplate.query(query, rowMapper);
+	public <T> List<T> executeBatchInsertAndReturnKeys(String table, Map<String, Object>[] params,
+			String generatedKeyName) {
+		return executeBatchInsertAndReturnKeys(null, table, params, generatedKeyName);
 	}
 
 	/**
-	 * Execute query.
+	 * Execute batch insert and return keys.
 	 *
-	 * @param <T> the generic type
-	 * @param query the query
+	 * @param schema the schema
+	 * @param table the table
 	 * @param params the params
-	 * @param rowMapper the row mapper
+	 * @param generatedKeyName the generated key
 	 * @return the list
 	 */
 	@Override
-	public <T> List<T> executeQuery(String query, Object[] params, RowMapper<T> rowMapper) {
-		return jdbcTemplate.query(query, params, rowMapper);
+	public <T> List<T> executeBatchInsertAndReturnKeys(String schema, String table, Map<String, Object>[] params,
+			String generatedKeyName) {
+		KeyHolder keyHolder = executeBatchInsertAndReturnKeyHolder(schema, table, params,
+				Collections.singleton(generatedKeyName));
+		List<T> keys = new ArrayList<>(params.length);
+		for (Map<String, Object> keyMap : keyHolder.getKeyList()) {
+			keys.add((T) extractKey(keyMap, generatedKeyName));
+		}
+		return keys;
 	}
 
 	/**
-	 * Execute for object.
+	 * Execute batch insert and return key holder.
 	 *
-	 * @param <T> the generic type
-	 * @param query the query
+	 * @param schema the schema
+	 * @param table the table
 	 * @param params the params
-	 * @param rowMapper the row mapper
-	 * @return the t
+	 * @param generatedKeyNames the generated keys
+	 * @return the key holder
 	 */
 	@Override
-	public <T> T executeQueryForObject(String query, Object[] params, RowMapper<T> rowMapper) {
-		return jdbcTemplate.queryForObject(query, params, rowMapper);
+	public KeyHolder executeBatchInsertAndReturnKeyHolder(String schema, String table, Map<String, Object>[] params,
+			Set<String> generatedKeyNames) {
+		if (generatedKeyNames == null || generatedKeyNames.isEmpty()) {
+			throw new GenericDaoValidationException("Generated key names cannot be empty !");
+		}
+		GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+		if (params.length == 0) {
+			return keyHolder;
+		}
+		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, params, generatedKeyNames);
+		String insertSql = jdbcInsert.getInsertString();
+		String[] keyColumnNames = jdbcInsert.getGeneratedKeyNames();
+		List<String> columnNames = getInsertColumnNames(jdbcInsert);
+		int[] columnTypes = resolveColumnTypes(schema, table, columnNames);
+		boolean isBatch = getDialect().supportsBatchGeneratedKeys();
+		RowMapperResultSetExtractor<Map<String, Object>> keyExtractor =
+				new RowMapperResultSetExtractor<>(new ColumnMapRowMapper());
+		long startTime = System.nanoTime();
+		ConnectionCallback<Void> batchCallback = con -> {
+			try (PreparedStatement ps = con.prepareStatement(insertSql, keyColumnNames)) {
+				for (Map<String, Object> row : params) {
+					for (int idx = 0; idx < columnTypes.length; idx++) {
+						StatementCreatorUtils.setParameterValue(ps, idx + 1, columnTypes[idx],
+								findParamValue(row, columnNames.get(idx)));
+					}
+					if (isBatch) {
+						ps.addBatch();
+						continue;
+					}
+					ps.executeUpdate();
+					try (ResultSet rs = ps.getGeneratedKeys()) {
+						keyHolder.getKeyList().addAll(keyExtractor.extractData(rs));
+					}
+				}
+				if (isBatch) {
+					ps.executeBatch();
+					try (ResultSet rs = ps.getGeneratedKeys()) {
+						keyHolder.getKeyList().addAll(keyExtractor.extractData(rs));
+					}
+				}
+			}
+			return null;
+		};
+		timed(OPERATION.BATCH_INSERT, table, insertSql, params.length, () -> {
+			jdbcTemplate.execute(batchCallback);
+			return keyHolder;
+		});
+		if (keyHolder.getKeyList().size() != params.length) {
+			throw new GenericDaoException(String.format("Batch insert into %s returned %s generated keys for %s rows",
+					table, keyHolder.getKeyList().size(), params.length));
+		}
+		LOGGER.debug("Executed 'executeBatchInsertAndReturnKeyHolder(..)' of " + params.length + " rows in (millis) = "
+				+ (System.nanoTime() - startTime) / NANOS_IN_ONE_MILLI);
+		return keyHolder;
 	}
 
 	/**
-	 * Execute query.
+	 * Execute batch insert.
 	 *
-	 * @param <T> the generic type
-	 * @param query the query
-	 * @param rsExtractor the rs extractor
-	 * @return the t
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the batch insert result
 	 */
 	@Override
-	public <T> T executeQuery(String query, ResultSetExtractor<T> rsExtractor) {
-		return jdbcTemplate.query(query, rsExtractor);
+	public BatchInsertResultDto executeBatchInsert(String schema, String table, Iterator<Map<String, Object>> rows,
+			BatchInsertOptionsDto options) {
+		if (options.getBatchSize() < 1 || options.getParallelism() < 1) {
+			throw new GenericDaoValidationException("Batch-size and parallelism must be at least 1 !");
+		}
+		if (options.getLoadMode() == LOAD_MODE.BATCH || !isCopySupported()) {
+			return streamBatchInsert(table, rows, options,
+					chunk -> executeBatchInsert(schema, table, toRowArray(chunk)));
+		}
+		if (!rows.hasNext()) {
+			return createBatchInsertResult(Collections.emptyList(), 0);
+		}
+		Map<String, Object> firstRow = rows.next();
+		RowSchema rowSchema = RowSchema.of(firstRow.keySet());
+		return copyIn(schema, table, rowSchema, new Iterator<CompactRow>() {
+
+			private long rowIndex;
+
+			@Override
+			public boolean hasNext() {
+				return rowIndex == 0 || rows.hasNext();
+			}
+
+			@Override
+			public CompactRow next() {
+				if (rowIndex++ == 0) {
+					return rowSchema.row(firstRow);
+				}
+				Map<String, Object> row = rows.next();
+				for (String columnName : row.keySet()) {
+					if (rowSchema.indexOf(columnName) < 0) {
+						throw new GenericDaoValidationException(String.format(
+								"Column '%s' of row %s is not in the first row - a copy takes its columns from there !",
+								columnName, rowIndex - 1));
+					}
+				}
+				return rowSchema.row(row);
+			}
+		}, options);
 	}
 
 	/**
-	 * Execute update.
+	 * Execute batch insert.
 	 *
-	 * @param sql the sql
-	 * @return the int
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rowSchema the row schema
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the batch insert result
+	 */
+	@Override
+	public BatchInsertResultDto executeBatchInsert(String schema, String table, RowSchema rowSchema,
+			Iterator<CompactRow> rows, BatchInsertOptionsDto options) {
+		if (options.getBatchSize() < 1 || options.getParallelism() < 1) {
+			throw new GenericDaoValidationException("Batch-size and parallelism must be at least 1 !");
+		}
+		if (options.getLoadMode() == LOAD_MODE.BATCH || !isCopySupported()) {
+			return streamBatchInsert(table, rows, options,
+					chunk -> executeBatchInsert(schema, table, chunk.toArray(new SqlParameterSource[chunk.size()])));
+		}
+		return copyIn(schema, table, rowSchema, rows, options);
+	}
+
+	/**
+	 * Inserts rows read lazily, chunk by chunk, on up to {@code options.parallelism} threads of the shared
+	 * batch insert executor.
+	 *
+	 * @param <R> the row type
+	 * @param table the table
+	 * @param rows the rows
+	 * @param options the options
+	 * @param insert the insert of one chunk
+	 * @return the batch insert result
+	 * @throws GenericDaoBatchInsertException if a chunk failed fast - with the result so far
+	 */
+	private <R> BatchInsertResultDto streamBatchInsert(String table, Iterator<R> rows, BatchInsertOptionsDto options,
+			Function<List<R>, int[]> insert) {
+		long startTime = System.nanoTime();
+		int parallelism = options.getParallelism();
+		List<ChunkResultDto> chunkResults = Collections.synchronizedList(new ArrayList<>());
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		ExecutorService executor = parallelism == 1 ? null : batchInsertExecutor;
+		// one permit per running chunk, so at most 'parallelism + 1' chunks are held in heap at once
+		Semaphore permits = new Semaphore(parallelism);
+		int chunkIndex = 0;
+		try {
+			while (rows.hasNext() && failure.get() == null) {
+				List<R> chunk = new ArrayList<>(options.getBatchSize());
+				while (chunk.size() < options.getBatchSize() && rows.hasNext()) {
+					chunk.add(rows.next());
+				}
+				int index = chunkIndex++;
+				if (executor == null) {
+					chunkResults.add(insertChunk(table, chunk, index, options, insert, failure));
+					continue;
+				}
+				permits.acquire();
+				executor.execute(() -> {
+					try {
+						chunkResults.add(insertChunk(table, chunk, index, options, insert, failure));
+					} finally {
+						permits.release();
+					}
+				});
+			}
+			permits.acquire(parallelism);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GenericDaoException("Interrupted while executing batch insert into " + table, e);
+		}
+		BatchInsertResultDto result = createBatchInsertResult(chunkResults, System.nanoTime() - startTime);
+		if (failure.get() != null) {
+			throw new GenericDaoBatchInsertException("Batch insert into " + table + " aborted after "
+					+ result.getInsertedCount() + " rows - " + failure.get().getMessage(), failure.get(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * Copies a chunk of rows into an array.
+	 *
+	 * @param chunk the chunk
+	 * @return the rows
+	 */
+	private static Map<String, Object>[] toRowArray(List<Map<String, Object>> chunk) {
+		// an array of a parameterized type can only be created unchecked
+		@SuppressWarnings("unchecked")
+		Map<String, Object>[] rows = (Map<String, Object>[]) new Map<?, ?>[chunk.size()];
+		return chunk.toArray(rows);
+	}
+
+	/**
+	 * Execute batch insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the batch insert result
+	 */
+	@Override
+	public BatchInsertResultDto executeBatchInsert(String schema, String table, Stream<Map<String, Object>> rows,
+			BatchInsertOptionsDto options) {
+		return executeBatchInsert(schema, table, rows.iterator(), options);
+	}
+
+	/**
+	 * Execute multi-row insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @return the int
+	 */
+	@Override
+	public int executeMultiRowInsert(String schema, String table, List<Map<String, Object>> rows) {
+		return executeMultiRowInsert(schema, table, rows, getDialect().getMaxBindParameters());
+	}
+
+	/**
+	 * Execute multi-row insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @param maxParameters the max parameters
+	 * @return the int
+	 */
+	@Override
+	public int executeMultiRowInsert(String schema, String table, List<Map<String, Object>> rows,
+			int maxParameters) {
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		Set<String> columnSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map<String, Object> row : rows) {
+			columnSet.addAll(row.keySet());
+		}
+		if (columnSet.isEmpty()) {
+			throw new GenericDaoValidationException("Rows cannot be inserted - none of them has a column !");
+		}
+		String[] columnNames = columnSet.toArray(new String[0]);
+		SqlDialect dialect = getDialect();
+		int rowsPerStatement = Math.min(Math.min(rows.size(), maxParameters / columnNames.length),
+				dialect.getMaxRowsPerInsert());
+		if (rowsPerStatement < 1) {
+			throw new GenericDaoException("Cannot insert " + columnNames.length + " columns within "
+					+ maxParameters + " bind parameters !");
+		}
+		String qualifiedTable = schema == null ? table : schema + "." + table;
+		List<String> columns = Arrays.asList(columnNames);
+		String fullChunkSql = dialect.multiRowInsert(qualifiedTable, columns, rowsPerStatement);
+		int count = 0;
+		for (int fromIndex = 0; fromIndex < rows.size(); fromIndex += rowsPerStatement) {
+			List<Map<String, Object>> chunk = rows.subList(fromIndex,
+					Math.min(fromIndex + rowsPerStatement, rows.size()));
+			String sql = chunk.size() == rowsPerStatement ? fullChunkSql
+					: dialect.multiRowInsert(qualifiedTable, columns, chunk.size());
+			Object[] args = new Object[chunk.size() * columnNames.length];
+			int argIndex = 0;
+			for (Map<String, Object> row : chunk) {
+				for (String columnName : columnNames) {
+					args[argIndex++] = findParamValue(row, columnName);
+				}
+			}
+			count += timed(OPERATION.INSERT, table, sql, chunk.size(), () -> jdbcTemplate.update(sql, args));
+		}
+		return count;
+	}
+
+	/**
+	 * Execute batch upsert.
+	 *
+	 * @param lstBatchSql the lst batch sql
+	 * @return the int[]
+	 * @deprecated use {@link #executeBatchUpsert(String, String, List, List, Map[])}
+	 */
+	@Override
+	@Deprecated
+	public int[] executeBatchUpsert(List<String> lstBatchSql) {
+		LOGGER.debug(lstBatchSql.toString());
+		long startTime = System.nanoTime();
+		String[] arrSql = lstBatchSql.toArray(new String[lstBatchSql.size()]);
+		int[] arrCount;
+		try {
+			arrCount = timed(OPERATION.UPSERT, null, arrSql.length == 0 ? null : arrSql[0], arrSql.length,
+					() -> jdbcTemplate.batchUpdate(arrSql));
+		} finally {
+			if (queryResultCache.isEnabled()) {
+				for (String sql : arrSql) {
+					queryResultCache.invalidate(null, sql);
+				}
+			}
+		}
+		LOGGER.debug("Executed 'executeBatchInsertOrUpdate(..)' in (millis) = "
+				+ (System.nanoTime() - startTime) / NANOS_IN_ONE_MILLI);
+		return arrCount;
+	}
+
+	/**
+	 * Execute batch upsert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param keyColumns the key columns
+	 * @param updateColumns the update columns
+	 * @param rows the rows
+	 * @return the batch upsert result
+	 */
+	@Override
+	public BatchUpsertResultDto executeBatchUpsert(String schema, String table, List<String> keyColumns,
+			List<String> updateColumns, Map<String, Object>[] rows) {
+		if (keyColumns == null || keyColumns.isEmpty()) {
+			throw new GenericDaoValidationException("Key columns cannot be empty !");
+		}
+		BatchUpsertResultDto result = new BatchUpsertResultDto();
+		if (rows.length == 0) {
+			result.setOutcomes(Collections.emptyList());
+			return result;
+		}
+		// a key column cannot be updated - ORA-38104 on MERGE, and a no-op elsewhere
+		Set<String> keyColumnSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		keyColumnSet.addAll(keyColumns);
+		for (String updateColumn : updateColumns) {
+			if (keyColumnSet.contains(updateColumn)) {
+				throw new GenericDaoValidationException("Key column '" + updateColumn + "' cannot be updated !");
+			}
+		}
+		Set<String> columnSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map<String, Object> row : rows) {
+			columnSet.addAll(row.keySet());
+		}
+		// a missing update column would be bound NULL and overwrite the stored value
+		List<String> keyAndUpdateColumns = new ArrayList<>(keyColumns);
+		keyAndUpdateColumns.addAll(updateColumns);
+		for (int rowIndex = 0; rowIndex < rows.length; rowIndex++) {
+			for (String columnName : keyAndUpdateColumns) {
+				if (!hasParam(rows[rowIndex], columnName)) {
+					throw new GenericDaoValidationException("Column '" + columnName + "' is missing in row "
+							+ rowIndex + " !");
+				}
+			}
+		}
+		List<String> columnNames = new ArrayList<>(columnSet);
+		SqlDialect dialect = getDialect();
+		boolean isPostgres = dialect.getDialect() == DIALECT.POSTGRES;
+		String upsertSql = renderBatchUpsert(dialect, schema == null ? table : schema + "." + table, columnNames,
+				keyColumns, updateColumns);
+		String sql = isPostgres ? upsertSql + RETURNING_INSERTED : upsertSql;
+		int[] columnTypes = resolveColumnTypes(schema, table, columnNames);
+		List<Boolean> insertedFlags = isPostgres ? new ArrayList<>(rows.length) : null;
+		long startTime = System.nanoTime();
+		ConnectionCallback<int[]> batchCallback = con -> {
+			try (PreparedStatement ps = isPostgres ? con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+					: con.prepareStatement(sql)) {
+				for (Map<String, Object> row : rows) {
+					for (int idx = 0; idx < columnTypes.length; idx++) {
+						StatementCreatorUtils.setParameterValue(ps, idx + 1, columnTypes[idx],
+								findParamValue(row, columnNames.get(idx)));
+					}
+					ps.addBatch();
+				}
+				int[] counts = ps.executeBatch();
+				if (isPostgres) {
+					try (ResultSet rs = ps.getGeneratedKeys()) {
+						while (rs.next()) {
+							insertedFlags.add(rs.getBoolean(1));
+						}
+					}
+				}
+				return counts;
+			}
+		};
+		int[] counts = timed(OPERATION.UPSERT, table, sql, rows.length, () -> jdbcTemplate.execute(batchCallback));
+		result.setOutcomes(toUpsertOutcomes(dialect.getDialect(), counts, insertedFlags));
+		result.setElapsedNanos(System.nanoTime() - startTime);
+		LOGGER.debug("Executed 'executeBatchUpsert(..)' of {} rows into {} in (millis) = {}", rows.length, table,
+				result.getElapsedNanos() / NANOS_IN_ONE_MILLI);
+		return result;
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param cls the cls
+	 * @return the t
+	 */
+	@Override
+	public <T> T executeQuery(String query, Class<T> cls) {
+		return cachedQuery(query, null, null, cls, () -> jdbcTemplate.queryForObject(query, cls));
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	@Override
+	public <T> List<T> executeQuery(String query, RowMapper<T> rowMapper) {
+		return cachedQuery(query, null, null, rowMapper, () -> jdbcTemplate.query(query, rowMapper));
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	@Override
+	public <T> List<T> executeQuery(String query, Object[] params, RowMapper<T> rowMapper) {
+		return cachedQuery(query, null, params, rowMapper, () -> jdbcTemplate.query(query, params, rowMapper));
+	}
+
+	/**
+	 * Execute query for dtos.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param dtoClass the dto class
+	 * @return the list
+	 */
+	@Override
+	public <T> List<T> executeQueryForDtos(String query, Object[] params, Class<T> dtoClass) {
+		return cachedQuery(query, null, params, dtoClass,
+				() -> jdbcTemplate.query(query, DtoRowMapper.of(dtoClass), params));
+	}
+
+	/**
+	 * Execute query for stream.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the stream
+	 */
+	@Override
+	public <T> Stream<T> executeQueryForStream(String query, Object[] params, RowMapper<T> rowMapper) {
+		return executeQueryForStream(query, params, rowMapper, DEFAULT_FETCH_SIZE);
+	}
+
+	/**
+	 * Execute query for stream.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @param fetchSize the fetch size
+	 * @return the stream
+	 */
+	@Override
+	public <T> Stream<T> executeQueryForStream(String query, Object[] params, RowMapper<T> rowMapper,
+			int fetchSize) {
+		return timed(OPERATION.QUERY, null, query, 0,
+				() -> queryForStream(query, new ArgumentPreparedStatementSetter(params), rowMapper, fetchSize));
+	}
+
+	/**
+	 * Execute named query for stream.
+	 *
+	 * @param <T> the generic type
+	 * @param sql the sql
+	 * @param paramMap the param map
+	 * @param rowMapper the row mapper
+	 * @param fetchSize the fetch size
+	 * @return the stream
+	 */
+	@Override
+	public <T> Stream<T> executeNamedQueryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper,
+			int fetchSize) {
+		ParsedSql parsedSql = getParsedSql(sql);
+		SqlParameterSource paramSource = new MapSqlParameterSource(paramMap);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse,
+				NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource));
+		return timed(OPERATION.QUERY, null, sql, 0,
+				() -> queryForStream(sqlToUse, pscf.newPreparedStatementSetter(params), rowMapper, fetchSize));
+	}
+
+	/**
+	 * Execute for object.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the t
+	 */
+	@Override
+	public <T> T executeQueryForObject(String query, Object[] params, RowMapper<T> rowMapper) {
+		return cachedQuery(query, null, params, rowMapper,
+				() -> jdbcTemplate.queryForObject(query, params, rowMapper));
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	@Override
+	public <T> List<T> executeQuery(QueryTemplate template, Object[] params, RowMapper<T> rowMapper) {
+		return cachedQuery(template.getJdbcSql(), template.getTableName(), params, rowMapper,
+				() -> jdbcTemplate.query(template.getJdbcSql(), rowMapper, params));
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param params the params
+	 * @param rsExtractor the rs extractor
+	 * @return the t
+	 */
+	@Override
+	public <T> T executeQuery(QueryTemplate template, Object[] params, ResultSetExtractor<T> rsExtractor) {
+		return cachedQuery(template.getJdbcSql(), template.getTableName(), params, rsExtractor,
+				() -> jdbcTemplate.query(template.getJdbcSql(), rsExtractor, params));
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param rsExtractor the rs extractor
+	 * @return the t
+	 */
+	@Override
+	public <T> T executeQuery(String query, ResultSetExtractor<T> rsExtractor) {
+		return cachedQuery(query, null, null, rsExtractor, () -> jdbcTemplate.query(query, rsExtractor));
+	}
+
+	/**
+	 * Execute query for columns.
+	 *
+	 * @param query the query
+	 * @param params the params
+	 * @return the columnar result
+	 */
+	@Override
+	public ColumnarResult executeQueryForColumns(String query, Object[] params) {
+		PreparedStatementCreator psc = connection -> {
+			PreparedStatement ps = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(DEFAULT_FETCH_SIZE);
+			return ps;
+		};
+		return timed(OPERATION.QUERY, null, query, 0, () -> jdbcTemplate.query(psc,
+				new ArgumentPreparedStatementSetter(params), new ColumnarResultSetExtractor()));
+	}
+
+	/**
+	 * Execute update.
+	 *
+	 * @param sql the sql
+	 * @return the int
 	 */
 	@Override
 	public int executeUpdate(String sql) {
-		return jdbcTemplate.update(sql);
+		return timed(OPERATION.UPDATE, null, sql, 0, () -> jdbcTemplate.update(sql));
 	}
 
 	/**
@@ -390,7 +1277,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeUpdate(String query, Object[] params) {
-		return jdbcTemplate.update(query, params);
+		return timed(OPERATION.UPDATE, null, query, 0, () -> jdbcTemplate.update(query, params));
 	}
 
 	/**
@@ -402,7 +1289,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeUpdate(String query, PreparedStatementSetter pss) {
-		return jdbcTemplate.update(query, pss);
+		return timed(OPERATION.UPDATE, null, query, 0, () -> jdbcTemplate.update(query, pss));
 	}
 
 	/**
@@ -413,7 +1300,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeUpdateForNamedSql(String sql, SqlParameterSource params) {
-		return namedJdbcTemplate.update(sql, params);
+		return timed(OPERATION.UPDATE, null, sql, 0,
+				() -> jdbcTemplate.update(createNamedStatementCreator(getParsedSql(sql), params)));
 	}
 
 	/**
@@ -425,7 +1313,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int[] executeBatchUpdate(String query, List<Object[]> objArr) {
-		return jdbcTemplate.batchUpdate(query, objArr);
+		return timed(OPERATION.BATCH_UPDATE, null, query, objArr.size(), () -> jdbcTemplate.batchUpdate(query, objArr));
 	}
 
 	/**
@@ -437,7 +1325,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int[] executeNamedBatchUpdate(String sql, SqlParameterSource[] params) {
-		return namedJdbcTemplate.batchUpdate(sql, params);
+		return timed(OPERATION.BATCH_UPDATE, null, sql, params.length,
+				() -> executeNamedBatchUpdate(getParsedSql(sql), params));
 	}
 
 	/**
@@ -448,7 +1337,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int[] executeNamedBatchUpdate(String sql, Map<String, Object>[] params) {
-		return namedJdbcTemplate.batchUpdate(sql, params);
+		return timed(OPERATION.BATCH_UPDATE, null, sql, params.length,
+				() -> executeNamedBatchUpdate(getParsedSql(sql), SqlParameterSourceUtils.createBatch(params)));
 	}
 
 	/**
@@ -460,7 +1350,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeNamedUpdate(String sql, Map<String, ?> paramMap) {
-		return namedJdbcTemplate.update(sql, paramMap);
+		return timed(OPERATION.UPDATE, null, sql, 0, () -> jdbcTemplate.update(createNamedStatementCreator(
+				getParsedSql(sql), new MapSqlParameterSource(paramMap))));
 	}
 
 	/**
@@ -470,7 +1361,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeDelete(String sql) {
-		return jdbcTemplate.update(sql);
+		return timed(OPERATION.DELETE, null, sql, 0, () -> jdbcTemplate.update(sql));
 	}
 
 	/**
@@ -481,7 +1372,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeDelete(String query, Object[] params) {
-		return jdbcTemplate.update(query, params);
+		return timed(OPERATION.DELETE, null, query, 0, () -> jdbcTemplate.update(query, params));
 	}
 
 	/**
@@ -492,7 +1383,7 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeDelete(String query, PreparedStatementSetter pss) {
-		return jdbcTemplate.update(query, pss);
+		return timed(OPERATION.DELETE, null, query, 0, () -> jdbcTemplate.update(query, pss));
 	}
 
 	/**
@@ -503,7 +1394,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeDeleteForNamedSql(String sql, SqlParameterSource params) {
-		return namedJdbcTemplate.update(sql, params);
+		return timed(OPERATION.DELETE, null, sql, 0,
+				() -> jdbcTemplate.update(createNamedStatementCreator(getParsedSql(sql), params)));
 	}
 
 	/**
@@ -514,7 +1406,65 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public int executeNamedDelete(String sql, Map<String, ?> paramMap) {
-		return namedJdbcTemplate.update(sql, paramMap);
+		return timed(OPERATION.DELETE, null, sql, 0, () -> jdbcTemplate.update(createNamedStatementCreator(
+				getParsedSql(sql), new MapSqlParameterSource(paramMap))));
+	}
+
+	/**
+	 * Execute delete by keys.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param keyColumn the key column
+	 * @param keys the keys
+	 * @return the number of rows deleted
+	 */
+	@Override
+	public int executeDeleteByKeys(String schema, String table, String keyColumn, Collection<?> keys) {
+		Utility.validateTableName(table);
+		Utility.validate(keyColumn);
+		if (keys == null) {
+			throw new GenericDaoValidationException("Keys cannot be null !");
+		}
+		List<Object> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+		if (distinctKeys.isEmpty()) {
+			return 0;
+		}
+		if (distinctKeys.contains(null)) {
+			throw new GenericDaoValidationException("Keys cannot hold a null !");
+		}
+		String qualifiedTable = schema == null ? table : schema + "." + table;
+		SqlDialect dialect = getDialect();
+		if (dialect.getDialect() == DIALECT.POSTGRES) {
+			TableColumnDto column = tableMetaDataCache.getColumn(schema, table, keyColumn);
+			if (column != null) {
+				return deleteByKeyArray(qualifiedTable, table, keyColumn, column.getTypeName(), distinctKeys);
+			}
+		}
+		int maxListSize = Integer.highestOneBit(Math.min(DEFAULT_MAX_IN_LIST_SIZE,
+				Math.min(dialect.getMaxInListSize(), dialect.getMaxBindParameters())));
+		int fullListCount = distinctKeys.size() / maxListSize;
+		int count = 0;
+		if (fullListCount > 0) {
+			List<Object[]> batchArgs = new ArrayList<>(fullListCount);
+			for (int idx = 0; idx < fullListCount; idx++) {
+				batchArgs.add(distinctKeys.subList(idx * maxListSize, (idx + 1) * maxListSize).toArray());
+			}
+			String sql = renderDeleteByKeys(qualifiedTable, keyColumn, distinctKeys.subList(0, maxListSize));
+			count += sumUpdateCounts(timed(OPERATION.DELETE, table, sql, fullListCount,
+					() -> jdbcTemplate.batchUpdate(sql, batchArgs)));
+		}
+		List<Object> lastList = distinctKeys.subList(fullListCount * maxListSize, distinctKeys.size());
+		if (!lastList.isEmpty()) {
+			Object[] args = new Object[Integer.highestOneBit(lastList.size() * 2 - 1)];
+			for (int idx = 0; idx < args.length; idx++) {
+				args[idx] = lastList.get(Math.min(idx, lastList.size() - 1));
+			}
+			String sql = renderDeleteByKeys(qualifiedTable, keyColumn, Arrays.asList(args));
+			count += timed(OPERATION.DELETE, table, sql, 0, () -> jdbcTemplate.update(sql, args));
+		}
+		LOGGER.debug("Deleted {} rows of {} keys from {}", count, distinctKeys.size(), table);
+		return count;
 	}
 
 	/**
@@ -529,7 +1479,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	@Override
 	public <T> T executeNamedQuery(String sql, Map<String, Object> paramMap, ResultSetExtractor<T> rse) {
 //		sql = sanitizeWhereClauseForNullCriteria(sql, paramMap);
-		return namedJdbcTemplate.query(sql, paramMap, rse);
+		return cachedQuery(sql, null, paramMap, rse, () -> jdbcTemplate.query(createNamedStatementCreator(
+				getParsedSql(sql), new MapSqlParameterSource(paramMap)), rse));
 	}
 
 	/**
@@ -543,7 +1494,9 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public <T> T executeNamedQuery(String sql, Map<String, Object> paramMap, RowMapper<T> rowMapper) {
-		return namedJdbcTemplate.queryForObject(sql, paramMap, rowMapper);
+		return cachedQuery(sql, null, paramMap, rowMapper, () -> DataAccessUtils.nullableSingleResult(
+				jdbcTemplate.query(createNamedStatementCreator(getParsedSql(sql), new MapSqlParameterSource(paramMap)),
+						rowMapper)));
 	}
 
 	/**
@@ -558,7 +1511,8 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	@Override
 	public <T> Object executeQueryForObject(String query, Object[] params, int[] types, Class<T> type) {
-		return jdbcTemplate.queryForObject(query, params, types, type);
+		return cachedQuery(query, null, params, type,
+				() -> jdbcTemplate.queryForObject(query, params, types, type));
 	}
 
 	/**
@@ -570,9 +1524,249 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 * @param requiredType the required type
 	 * @return the object
 	 */
-	@Override
-	public <T> Object executeNamedQueryForObj(String sql, Map<String, ?> paramMap, Class<T> requiredType) {
-		return namedJdbcTemplate.queryForObject(sql, paramMap, requiredType);
+	@Override
+	public <T> Object executeNamedQueryForObj(String sql, Map<String, ?> paramMap, Class<T> requiredType) {
+		return cachedQuery(sql, null, paramMap, requiredType, () -> DataAccessUtils.nullableSingleResult(
+				jdbcTemplate.query(createNamedStatementCreator(getParsedSql(sql), new MapSqlParameterSource(paramMap)),
+						new SingleColumnRowMapper<>(requiredType))));
+	}
+
+	/**
+	 * Execute query - runs a precompiled template with named values, using its parsed form as is.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param paramMap the param map
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	@Override
+	public <T> List<T> executeQuery(QueryTemplate template, Map<String, ?> paramMap, RowMapper<T> rowMapper) {
+		return cachedQuery(template.getJdbcSql(), template.getTableName(), paramMap, rowMapper,
+				() -> jdbcTemplate.query(createNamedStatementCreator(template.getParsedSql(),
+						new MapSqlParameterSource(paramMap)), rowMapper));
+	}
+
+	/**
+	 * Execute keyset query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param token the token
+	 * @param rowMapper the row mapper
+	 * @return the keyset page
+	 */
+	@Override
+	public <T> KeysetPageDto<T> executeKeysetQuery(KeysetQuery query, String token, RowMapper<T> rowMapper) {
+		return executeKeysetQuery(query, token, Collections.emptyMap(), rowMapper);
+	}
+
+	/**
+	 * Execute keyset query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param token the token
+	 * @param paramMap the param map
+	 * @param rowMapper the row mapper
+	 * @return the keyset page
+	 */
+	@Override
+	public <T> KeysetPageDto<T> executeKeysetQuery(KeysetQuery query, String token, Map<String, ?> paramMap,
+			RowMapper<T> rowMapper) {
+		Object[] keyValues = token == null ? null : query.decodeToken(token);
+		String sql = keyValues == null ? query.getFirstPageSql() : query.getNextPageSql();
+		ResultSetExtractor<KeysetPageDto<T>> rse = rs -> {
+			int pageSize = query.getPageSize();
+			List<T> rows = new ArrayList<>(pageSize);
+			Object[] lastKeyValues = null;
+			while (rs.next()) {
+				if (rows.size() == pageSize) {
+					return new KeysetPageDto<>(rows, query.encodeToken(lastKeyValues));
+				}
+				rows.add(rowMapper.mapRow(rs, rows.size()));
+				if (rows.size() == pageSize) {
+					lastKeyValues = query.readKeyValues(rs);
+				}
+			}
+			return new KeysetPageDto<>(rows, null);
+		};
+		if (query.isPositional()) {
+			if (!paramMap.isEmpty()) {
+				throw new GenericDaoValidationException("Named values given for a query built with positional parameters");
+			}
+			return timed(OPERATION.QUERY, null, sql, 0,
+					() -> jdbcTemplate.query(sql, rse, query.toParameters(keyValues)));
+		}
+		return timed(OPERATION.QUERY, null, sql, 0, () -> jdbcTemplate.query(createNamedStatementCreator(
+				getParsedSql(sql), new MapSqlParameterSource(query.toParameterMap(paramMap, keyValues))), rse));
+	}
+
+	/**
+	 * Gets the parsed sql cache stats.
+	 *
+	 * @return the parsed sql cache stats
+	 */
+	@Override
+	public CacheStatsDto getParsedSqlCacheStats() {
+		return parsedSqlCache.stats();
+	}
+
+	/**
+	 * Sets the max number of parsed named-sql statements kept.
+	 *
+	 * @param maxSize the max size
+	 */
+	public void setParsedSqlCacheMaxSize(int maxSize) {
+		parsedSqlCache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Warm up inserts - reads the columns of every table into the meta-data cache, all within one connection.
+	 *
+	 * @param schema the schema
+	 * @param tables the tables
+	 */
+	@Override
+	public void warmUpInserts(String schema, Collection<String> tables) {
+		Map<String, Map<String, TableColumnDto>> columnsByTable = tableMetaDataCache.refresh(schema, tables);
+		for (String table : tables) {
+			if (columnsByTable.get(table).isEmpty()) {
+				throw new GenericDaoException("Cannot warm-up insert - no columns found for table '" + table
+						+ "' in schema '" + schema + "' !");
+			}
+		}
+	}
+
+	/**
+	 * Gets the dialect - detected once from the database product name and cached.
+	 *
+	 * @return the dialect
+	 */
+	@Override
+	public SqlDialect getDialect() {
+		SqlDialect dialect = sqlDialect;
+		if (dialect == null) {
+			try {
+				String databaseProductName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+						DatabaseMetaData::getDatabaseProductName);
+				dialect = SqlDialectFactory.getDialect(databaseProductName);
+			} catch (MetaDataAccessException e) {
+				throw new GenericDaoException("Unable to detect the database dialect !", e);
+			}
+			LOGGER.debug("Detected sql dialect " + dialect);
+			sqlDialect = dialect;
+		}
+		return dialect;
+	}
+
+	/**
+	 * Sets the dialect, skipping the detection.
+	 *
+	 * @param sqlDialect the new dialect
+	 */
+	public void setDialect(SqlDialect sqlDialect) {
+		this.sqlDialect = sqlDialect;
+		this.copySupported = null;
+	}
+
+	/**
+	 * Warm up insert - compiles the insert of exactly the given columns.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param columnNames the column names
+	 * @param generatedKeyNames the generated keys
+	 */
+	@Override
+	public void warmUpInsert(String schema, String table, Set<String> columnNames, Set<String> generatedKeyNames) {
+		createSimpleJdbcInsert(schema, table, columnNames, generatedKeyNames);
+	}
+
+	/**
+	 * Invalidate insert cache.
+	 *
+	 * @param schema the schema, or null to evict the table from every schema
+	 * @param table the table
+	 */
+	@Override
+	public void invalidateInsertCache(String schema, String table) {
+		jdbcInsertCache.invalidateIf(insertKey -> insertKey.table.equalsIgnoreCase(table)
+				&& (schema == null || schema.equalsIgnoreCase(insertKey.schema)));
+	}
+
+	/**
+	 * Invalidate insert cache.
+	 */
+	@Override
+	public void invalidateInsertCache() {
+		jdbcInsertCache.invalidateAll();
+	}
+
+	/**
+	 * Gets the insert cache stats.
+	 *
+	 * @return the insert cache stats
+	 */
+	@Override
+	public CacheStatsDto getInsertCacheStats() {
+		return jdbcInsertCache.stats();
+	}
+
+	/**
+	 * Sets the max number of compiled inserts kept; the least recently used ones are evicted beyond it.
+	 *
+	 * @param maxSize the max size
+	 */
+	public void setInsertCacheMaxSize(int maxSize) {
+		jdbcInsertCache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Gets the query result cache stats.
+	 *
+	 * @return the query result cache stats
+	 */
+	@Override
+	public CacheStatsDto getQueryResultCacheStats() {
+		return queryResultCache.stats();
+	}
+
+	/**
+	 * Invalidate query result cache.
+	 */
+	@Override
+	public void invalidateQueryResultCache() {
+		queryResultCache.invalidateAll();
+	}
+
+	/**
+	 * Sets the tables whose query results are cached - a query is cached only if every table it reads is one of
+	 * them, and its results are dropped as this dao writes to any of them. An empty set turns caching off.
+	 *
+	 * @param tables the tables
+	 */
+	public void setQueryResultCacheTables(Collection<String> tables) {
+		queryResultCache.setCacheableTables(tables);
+	}
+
+	/**
+	 * Sets the max number of query results kept; the least recently used ones are evicted beyond it.
+	 *
+	 * @param maxSize the max size
+	 */
+	public void setQueryResultCacheMaxSize(int maxSize) {
+		queryResultCache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Sets how long a query result is kept - the bound on staleness for writes made outside of this dao; 0 keeps
+	 * it until invalidated.
+	 *
+	 * @param ttlMillis the ttl millis
+	 */
+	public void setQueryResultCacheTtlMillis(long ttlMillis) {
+		queryResultCache.setTtlMillis(ttlMillis);
 	}
 
 	/**
@@ -661,16 +1855,44 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 * @return the map
 	 */
 	protected Map<String, Object> createSimpleTypesParamsMap(Object obj) {
-		Map<String, Object> paramsMap = null;
-		Class<? extends Object> cls = obj.getClass();
-		for (Field fld : cls.getDeclaredFields()) {
-			Object val = retrieveValue(fld, obj);
-			if (paramsMap == null) {
-				paramsMap = new HashMap<>();
-			}
-			paramsMap.put(fld.getName(), val);
-		}
-		return paramsMap;
+		return createSimpleTypesParamSource(obj).toMap();
+	}
+
+	/**
+	 * Creates the simple types param source - reads the fields of the bean as they are bound, without an
+	 * intermediate map.
+	 *
+	 * @param obj the obj
+	 * @return the param source
+	 */
+	protected BeanParameterSource createSimpleTypesParamSource(Object obj) {
+		return new BeanParameterSource(obj);
+	}
+
+	/**
+	 * Gets the parsed form of a named-parameter sql, parsing it only on the first call.
+	 *
+	 * @param sql the sql
+	 * @return the parsed sql
+	 */
+	protected ParsedSql getParsedSql(String sql) {
+		return parsedSqlCache.computeIfAbsent(sql, NamedParameterUtils::parseSqlStatement);
+	}
+
+	/**
+	 * Creates the statement creator of a parsed named-parameter sql - what
+	 * {@link NamedParameterJdbcTemplate} does, minus its own parse cache.
+	 *
+	 * @param parsedSql the parsed sql
+	 * @param paramSource the param source
+	 * @return the prepared statement creator
+	 */
+	protected PreparedStatementCreator createNamedStatementCreator(ParsedSql parsedSql,
+			SqlParameterSource paramSource) {
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters).newPreparedStatementCreator(params);
 	}
 
 	/**
@@ -733,27 +1955,6 @@ public abstract class AbstractDaoImpl implements BaseDao {
 		};
 	}
 
-	/**
-	 * Retrieve value.
-	 *
-	 * @param fld the fld
-	 * @param obj the obj
-	 * @return the object
-	 */
-	private Object retrieveValue(Field fld, Object obj) {
-		Class<?> type = fld.getType();
-		if (!simpleTypes.contains(type)) {
-			return null;
-		}
-		Object value;
-		try {
-			value = fld.get(obj);
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-			throw new GenericDaoException(e);
-		}
-		return value;
-	}
-
 	/**
 	 * Sanitize where clause for null criteria.
 	 *
@@ -794,7 +1995,382 @@ public abstract class AbstractDaoImpl implements BaseDao {
 //	}
 
 	/**
-	 * Creates the simple jdbc insert.
+	 * Inserts one chunk of a streaming batch insert. Under the fail-fast policy the first failure is published
+	 * to the other chunks through {@code failure}; under continue-on-error it is only recorded in the chunk result.
+	 *
+	 * @param <R> the row type
+	 * @param table the table
+	 * @param chunk the chunk
+	 * @param chunkIndex the chunk index
+	 * @param options the options
+	 * @param insert the insert of one chunk
+	 * @param failure the first failure of a fail-fast insert
+	 * @return the chunk result
+	 */
+	private <R> ChunkResultDto insertChunk(String table, List<R> chunk, int chunkIndex, BatchInsertOptionsDto options,
+			Function<List<R>, int[]> insert, AtomicReference<RuntimeException> failure) {
+		ChunkResultDto chunkResult = new ChunkResultDto();
+		chunkResult.setChunkIndex(chunkIndex);
+		chunkResult.setRowCount(chunk.size());
+		long startTime = System.nanoTime();
+		try {
+			if (failure.get() == null) {
+				int[] counts = insert.apply(chunk);
+				chunkResult.setInsertedCount(sumUpdateCounts(counts));
+			} else {
+				chunkResult.setSkipped(true);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Batch insert into {} failed for chunk {} - {}", table, chunkIndex, e.getMessage());
+			chunkResult.setError(e.getMessage());
+			if (options.getErrorPolicy() == ERROR_POLICY.FAIL_FAST) {
+				failure.compareAndSet(null, e);
+			}
+		}
+		chunkResult.setElapsedNanos(System.nanoTime() - startTime);
+		LOGGER.debug("Inserted chunk {} into {} - {} rows in (millis) = {}", chunkIndex, table,
+				chunkResult.getInsertedCount(), chunkResult.getElapsedNanos() / NANOS_IN_ONE_MILLI);
+		return chunkResult;
+	}
+
+	/**
+	 * Copies rows into a PostgreSQL table with one COPY statement, on one connection - the transaction's, if any.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rowSchema the row schema
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the batch insert result, with totals only - a copy has no chunks
+	 */
+	private BatchInsertResultDto copyIn(String schema, String table, RowSchema rowSchema, Iterator<CompactRow> rows,
+			BatchInsertOptionsDto options) {
+		String qualifiedTable = schema == null ? table : schema + "." + table;
+		PostgresCopyLoader loader = new PostgresCopyLoader(qualifiedTable, rowSchema,
+				options.getLoadMode() == LOAD_MODE.COPY_BINARY ? tableMetaDataCache.getColumns(schema, table) : null);
+		BatchInsertResultDto result;
+		try {
+			result = timed(OPERATION.BATCH_INSERT, table, loader.getCopySql(), 0, () -> {
+				long startTime = System.nanoTime();
+				Long count = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> loader.load(connection,
+						rows));
+				BatchInsertResultDto copyResult = createBatchInsertResult(Collections.emptyList(),
+						System.nanoTime() - startTime);
+				copyResult.setRowCount(count);
+				copyResult.setInsertedCount(count);
+				return copyResult;
+			});
+		} catch (DataAccessException e) {
+			throw new GenericDaoException("Copy into " + table + " failed - " + e.getMessage(), e);
+		}
+		LOGGER.debug("Copied {} rows into {} in (millis) = {}", result.getInsertedCount(), table,
+				result.getElapsedNanos() / NANOS_IN_ONE_MILLI);
+		return result;
+	}
+
+	/**
+	 * Checks if the data source can COPY - a PostgreSQL database, reached through the PostgreSQL driver.
+	 *
+	 * @return true, if COPY is supported
+	 */
+	private boolean isCopySupported() {
+		Boolean supported = copySupported;
+		if (supported == null) {
+			supported = POSTGRES_DRIVER_PRESENT && getDialect().getDialect() == DIALECT.POSTGRES
+					&& Boolean.TRUE.equals(jdbcTemplate.execute(
+							(ConnectionCallback<Boolean>) PostgresCopyLoader::isCopySupported));
+			if (!supported) {
+				LOGGER.info("COPY is not supported by the data source - loading with batched inserts");
+			}
+			copySupported = supported;
+		}
+		return supported;
+	}
+
+	/**
+	 * Creates the batch insert result.
+	 *
+	 * @param chunkResults the chunk results
+	 * @param elapsedNanos the elapsed nanos
+	 * @return the batch insert result
+	 */
+	private static BatchInsertResultDto createBatchInsertResult(List<ChunkResultDto> chunkResults,
+			long elapsedNanos) {
+		List<ChunkResultDto> chunks = new ArrayList<>(chunkResults);
+		chunks.sort(Comparator.comparingInt(ChunkResultDto::getChunkIndex));
+		BatchInsertResultDto result = new BatchInsertResultDto();
+		for (ChunkResultDto chunk : chunks) {
+			result.setRowCount(result.getRowCount() + chunk.getRowCount());
+			result.setInsertedCount(result.getInsertedCount() + chunk.getInsertedCount());
+			if (chunk.isFailed()) {
+				result.setFailedRowCount(result.getFailedRowCount() + chunk.getRowCount());
+			} else if (chunk.isSkipped()) {
+				result.setSkippedRowCount(result.getSkippedRowCount() + chunk.getRowCount());
+			}
+		}
+		result.setChunks(chunks);
+		result.setElapsedNanos(elapsedNanos);
+		return result;
+	}
+
+	/**
+	 * Renders the upsert of a batch - one tuple of placeholders, each update column set to its inserted value.
+	 *
+	 * @param dialect the dialect
+	 * @param table the table
+	 * @param columnNames the column names
+	 * @param keyColumns the key columns
+	 * @param updateColumns the update columns
+	 * @return the upsert sql
+	 */
+	private static String renderBatchUpsert(SqlDialect dialect, String table, List<String> columnNames,
+			List<String> keyColumns, List<String> updateColumns) {
+		UpsertStatementBuilder builder = UpsertStatementBuilder.newBuilder().dialect(dialect).into(table);
+		for (String columnName : columnNames) {
+			builder.column(columnName);
+		}
+		builder.values();
+		for (int idx = 0; idx < columnNames.size(); idx++) {
+			builder.value();
+		}
+		for (String keyColumn : keyColumns) {
+			builder.onConflict(keyColumn);
+		}
+		if (updateColumns.isEmpty()) {
+			return builder.doNothing().build();
+		}
+		builder.doUpdateSet();
+		for (String updateColumn : updateColumns) {
+			builder.setToInsertedValue(updateColumn);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Reads the outcome of each row of an upsert batch off its update counts. On PostgreSQL a flag is returned
+	 * for each row written, in batch order - the rows counted 1, or every row if the driver reports no counts.
+	 *
+	 * @param dialect the dialect, or null
+	 * @param counts the counts
+	 * @param insertedFlags the inserted flags, PostgreSQL only
+	 * @return the outcomes
+	 */
+	private static List<OUTCOME> toUpsertOutcomes(DIALECT dialect, int[] counts, List<Boolean> insertedFlags) {
+		int writtenCount = 0;
+		boolean isCounted = true;
+		for (int count : counts) {
+			if (count == 1) {
+				writtenCount++;
+			} else if (count != 0) {
+				isCounted = false;
+			}
+		}
+		boolean isFlagged = insertedFlags != null
+				&& insertedFlags.size() == (isCounted ? writtenCount : counts.length);
+		List<OUTCOME> outcomes = new ArrayList<>(counts.length);
+		int flagIndex = 0;
+		for (int count : counts) {
+			if (count == 0) {
+				outcomes.add(OUTCOME.UNCHANGED);
+			} else if (isFlagged) {
+				outcomes.add(insertedFlags.get(flagIndex++) ? OUTCOME.INSERTED : OUTCOME.UPDATED);
+			} else if (count < 0) {
+				outcomes.add(OUTCOME.UNKNOWN);
+			} else if (dialect == DIALECT.MYSQL && count == 2) {
+				// a 1 is an insert, or an unchanged row unless the connection counts affected rows - not readable here
+				outcomes.add(OUTCOME.UPDATED);
+			} else {
+				outcomes.add(OUTCOME.INSERTED_OR_UPDATED);
+			}
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Deletes by keys bound as one PostgreSQL array, typed after the key column - a serial column is an integer
+	 * one.
+	 *
+	 * @param qualifiedTable the qualified table
+	 * @param table the table
+	 * @param keyColumn the key column
+	 * @param typeName the type name of the key column
+	 * @param keys the keys
+	 * @return the number of rows deleted
+	 */
+	private int deleteByKeyArray(String qualifiedTable, String table, String keyColumn, String typeName,
+			List<Object> keys) {
+		String elementType = "serial".equals(typeName) ? "int4" : "bigserial".equals(typeName) ? "int8"
+				: "smallserial".equals(typeName) ? "int2" : typeName;
+		String sql = DELETE + FROM + qualifiedTable + WhereClauseBuilder.TOKENS.WHERE + keyColumn + EQUALS_ANY;
+		ConnectionCallback<Integer> deleteCallback = con -> {
+			Array array = con.createArrayOf(elementType, keys.toArray());
+			try (PreparedStatement ps = con.prepareStatement(sql)) {
+				ps.setArray(1, array);
+				return ps.executeUpdate();
+			} finally {
+				array.free();
+			}
+		};
+		int count = timed(OPERATION.DELETE, table, sql, 0, () -> jdbcTemplate.execute(deleteCallback));
+		LOGGER.debug("Deleted {} rows of {} keys from {}", count, keys.size(), table);
+		return count;
+	}
+
+	/**
+	 * Renders {@code DELETE FROM table WHERE key IN (?, ...)} - one placeholder per key.
+	 *
+	 * @param qualifiedTable the qualified table
+	 * @param keyColumn the key column
+	 * @param keys the keys
+	 * @return the delete sql
+	 */
+	private static String renderDeleteByKeys(String qualifiedTable, String keyColumn, List<Object> keys) {
+		return DeleteStatementBuilder.newBuilder()
+				.from(qualifiedTable)
+				.usePositionalParameters()
+				.where()
+				.in(keyColumn, keys)
+				.build();
+	}
+
+	/**
+	 * Sums the update counts of a batch; a driver reporting {@link Statement#SUCCESS_NO_INFO} counts as one row.
+	 *
+	 * @param counts the counts
+	 * @return the sum
+	 */
+	static int sumUpdateCounts(int[] counts) {
+		int sum = 0;
+		for (int count : counts) {
+			if (count == Statement.SUCCESS_NO_INFO) {
+				sum++;
+			} else if (count > 0) {
+				sum += count;
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Runs a query through the result cache - cached only if every table it reads is opted in.
+	 *
+	 * @param <T> the generic type
+	 * @param sql the sql
+	 * @param table the one table read, if known, else null to read the tables off the sql
+	 * @param params the params
+	 * @param mapper the row mapper, result set extractor or required type
+	 * @param statement the statement
+	 * @return the result
+	 */
+	private <T> T cachedQuery(String sql, String table, Object params, Object mapper, Supplier<T> statement) {
+		if (!queryResultCache.isEnabled()) {
+			return timed(OPERATION.QUERY, table, sql, 0, statement);
+		}
+		return queryResultCache.get(sql, table, params, mapper, () -> timed(OPERATION.QUERY, table, sql, 0, statement));
+	}
+
+	/**
+	 * Runs a statement - timed and recorded only when metrics or a slow-statement threshold are set. A stream is
+	 * timed to its first result. A write also drops the cached results of its table, even if it failed part way.
+	 *
+	 * @param <T> the generic type
+	 * @param operation the operation
+	 * @param table the table, or null to read it off the sql
+	 * @param sql the sql, or null
+	 * @param batchSize the batch size, or 0 for a single statement
+	 * @param statement the statement
+	 * @return the result
+	 */
+	private <T> T timed(OPERATION operation, String table, String sql, int batchSize, Supplier<T> statement) {
+		if (operation != OPERATION.QUERY && queryResultCache.isEnabled()) {
+			try {
+				return record(operation, table, sql, batchSize, statement);
+			} finally {
+				queryResultCache.invalidate(table, sql);
+			}
+		}
+		return record(operation, table, sql, batchSize, statement);
+	}
+
+	/**
+	 * Runs a statement, recording it if metrics or a slow-statement threshold are set.
+	 *
+	 * @param <T> the generic type
+	 * @param operation the operation
+	 * @param table the table, or null to read it off the sql
+	 * @param sql the sql, or null
+	 * @param batchSize the batch size, or 0 for a single statement
+	 * @param statement the statement
+	 * @return the result
+	 */
+	private <T> T record(OPERATION operation, String table, String sql, int batchSize, Supplier<T> statement) {
+		if (!statementMetrics.isEnabled()) {
+			return statement.get();
+		}
+		long startTime = System.nanoTime();
+		T result;
+		try {
+			result = statement.get();
+		} catch (RuntimeException | Error e) {
+			statementMetrics.record(operation, table, sql, startTime, batchSize, null, e);
+			throw e;
+		}
+		statementMetrics.record(operation, table, sql, startTime, batchSize, result, null);
+		return result;
+	}
+
+	/**
+	 * Query for stream on a forward-only, read-only statement with the given fetch size.
+	 *
+	 * @param <T> the generic type
+	 * @param sql the sql
+	 * @param pss the pss
+	 * @param rowMapper the row mapper
+	 * @param fetchSize the fetch size
+	 * @return the stream
+	 */
+	private <T> Stream<T> queryForStream(String sql, PreparedStatementSetter pss, RowMapper<T> rowMapper,
+			int fetchSize) {
+		return jdbcTemplate.queryForStream(connection -> {
+			PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			return ps;
+		}, pss, rowMapper);
+	}
+
+	/**
+	 * Execute named batch update of a parsed sql. The statement is laid out from the first row, so every row
+	 * must expand collection values to the same number of placeholders.
+	 *
+	 * @param parsedSql the parsed sql
+	 * @param params the params
+	 * @return the int[]
+	 */
+	private int[] executeNamedBatchUpdate(ParsedSql parsedSql, SqlParameterSource[] params) {
+		if (params.length == 0) {
+			return new int[0];
+		}
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, params[0]);
+		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse,
+				NamedParameterUtils.buildSqlParameterList(parsedSql, params[0]));
+		return jdbcTemplate.batchUpdate(sqlToUse, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				Object[] values = NamedParameterUtils.buildValueArray(parsedSql, params[i], null);
+				pscf.newPreparedStatementSetter(values).setValues(ps);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return params.length;
+			}
+		});
+	}
+
+	/**
+	 * Creates the simple jdbc insert, or reuses the one compiled earlier for the same schema, table, columns and
+	 * generated keys. A compiled {@link SimpleJdbcInsert} is thread-safe, so it is shared across callers.
 	 *
 	 * @param schema the schema
 	 * @param table the table
@@ -804,18 +2380,67 @@ public abstract class AbstractDaoImpl implements BaseDao {
 	 */
 	private SimpleJdbcInsert createSimpleJdbcInsert(String schema, String table, Set<String> params,
 			Set<String> generatedKeyNames) {
-		SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(jdbcTemplate).withTableName(table);
-		if (schema != null) {
-			jdbcInsert = jdbcInsert.withSchemaName(schema);
+		InsertKey insertKey = new InsertKey(schema, table, params, generatedKeyNames);
+		return jdbcInsertCache.computeIfAbsent(insertKey, this::compileSimpleJdbcInsert);
+	}
+
+	/**
+	 * Compiles the simple jdbc insert. The columns come from the table meta-data cache, so the insert skips its
+	 * own column meta-data lookup - unless the cache does not know the table.
+	 *
+	 * @param insertKey the insert key
+	 * @return the simple jdbc insert
+	 */
+	private SimpleJdbcInsert compileSimpleJdbcInsert(InsertKey insertKey) {
+		SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(jdbcTemplate).withTableName(insertKey.table);
+		if (tableMetaDataCache.isTableExists(insertKey.schema, insertKey.table)) {
+			jdbcInsert.withoutTableColumnMetaDataAccess();
 		}
-		if (generatedKeyNames != null && !generatedKeyNames.isEmpty()) {
-			jdbcInsert = jdbcInsert.usingGeneratedKeyColumns(generatedKeyNames.toArray(new String[generatedKeyNames.size()]));
+		if (insertKey.schema != null) {
+			jdbcInsert = jdbcInsert.withSchemaName(insertKey.schema);
 		}
-		String[] columnNames = params.toArray(new String[params.size()]);
-		jdbcInsert = jdbcInsert.usingColumns(columnNames);
+		if (insertKey.generatedKeyNames.length > 0) {
+			jdbcInsert = jdbcInsert.usingGeneratedKeyColumns(insertKey.generatedKeyNames);
+		}
+		jdbcInsert = jdbcInsert.usingColumns(insertKey.insertColumnNames);
+		jdbcInsert.compile();
 		return jdbcInsert;
 	}
 
+	/**
+	 * Creates the param source of a one-row insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @return the param source
+	 * @see #createTypedParamSource(Map, Map)
+	 */
+	private MapSqlParameterSource createTypedParamSource(String schema, String table, Map<String, Object> params) {
+		return createTypedParamSource(tableMetaDataCache.getColumns(schema, table), params);
+	}
+
+	/**
+	 * Creates the param source of an insert, typed from the cached column meta-data - so nulls are bound with
+	 * their column type and the driver is not asked for the parameter meta-data. A batch looks the columns up
+	 * once and passes them for every row.
+	 *
+	 * @param columns the columns of the table
+	 * @param params the params
+	 * @return the param source
+	 */
+	private static MapSqlParameterSource createTypedParamSource(Map<String, TableColumnDto> columns,
+			Map<String, Object> params) {
+		MapSqlParameterSource paramSource = new MapSqlParameterSource(params);
+		for (String paramName : params.keySet()) {
+			TableColumnDto column = columns.get(paramName.toLowerCase(Locale.ROOT));
+			if (column != null) {
+				paramSource.registerSqlType(paramName, column.getDataType());
+			}
+		}
+		return paramSource;
+	}
+
 	/**
 	 * Creates the simple jdbc insert.
 	 *
@@ -838,4 +2463,192 @@ public abstract class AbstractDaoImpl implements BaseDao {
 		SimpleJdbcInsert jdbcInsert = createSimpleJdbcInsert(schema, table, columnNames, generatedKeyNames);
 		return jdbcInsert;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Gets the columns an insert binds, in order - the declared columns, minus the generated keys.
+	 *
+	 * @param jdbcInsert the jdbc insert
+	 * @return the column names
+	 */
+	private static List<String> getInsertColumnNames(SimpleJdbcInsert jdbcInsert) {
+		List<String> columnNames = new ArrayList<>(jdbcInsert.getColumnNames());
+		for (String keyColumnName : jdbcInsert.getGeneratedKeyNames()) {
+			columnNames.removeIf(columnName -> columnName.equalsIgnoreCase(keyColumnName));
+		}
+		return columnNames;
+	}
+
+	/**
+	 * Resolves the sql type of each column from the table meta-data cache.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param columnNames the column names
+	 * @return the sql types, {@link SqlTypeValue#TYPE_UNKNOWN} for a column the cache does not know
+	 */
+	private int[] resolveColumnTypes(String schema, String table, List<String> columnNames) {
+		int[] columnTypes = new int[columnNames.size()];
+		Map<String, TableColumnDto> columns = tableMetaDataCache.getColumns(schema, table);
+		for (int idx = 0; idx < columnTypes.length; idx++) {
+			TableColumnDto column = columns.get(columnNames.get(idx).toLowerCase(Locale.ROOT));
+			columnTypes[idx] = column == null ? SqlTypeValue.TYPE_UNKNOWN : column.getDataType();
+		}
+		return columnTypes;
+	}
+
+	/**
+	 * Finds the schema shared by params that are all compact rows.
+	 *
+	 * @param params the params
+	 * @return the row schema, or null if the params are not all compact rows of one schema
+	 */
+	private static RowSchema findSharedRowSchema(SqlParameterSource[] params) {
+		if (!(params[0] instanceof CompactRow)) {
+			return null;
+		}
+		RowSchema rowSchema = ((CompactRow) params[0]).getSchema();
+		for (SqlParameterSource paramSource : params) {
+			if (!(paramSource instanceof CompactRow) || ((CompactRow) paramSource).getSchema() != rowSchema) {
+				return null;
+			}
+		}
+		return rowSchema;
+	}
+
+	/**
+	 * Finds the value of a column in the params of a row - by exact name first, then case-insensitively, as the
+	 * compiled insert matches them.
+	 *
+	 * @param params the params
+	 * @param columnName the column name
+	 * @return the value, or null if absent
+	 */
+	private static Object findParamValue(Map<String, Object> params, String columnName) {
+		if (params.containsKey(columnName)) {
+			return params.get(columnName);
+		}
+		for (Map.Entry<String, Object> entry : params.entrySet()) {
+			if (entry.getKey().equalsIgnoreCase(columnName)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks if the params of a row hold a column - by exact name first, then case-insensitively.
+	 *
+	 * @param params the params
+	 * @param columnName the column name
+	 * @return true, if the column is present
+	 */
+	private static boolean hasParam(Map<String, Object> params, String columnName) {
+		if (params.containsKey(columnName)) {
+			return true;
+		}
+		for (String paramName : params.keySet()) {
+			if (paramName.equalsIgnoreCase(columnName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Extracts a generated key from the key map of a row - drivers differ in the case of the returned labels,
+	 * and some return the whole row.
+	 *
+	 * @param keyMap the key map
+	 * @param generatedKeyName the generated key name
+	 * @return the key
+	 */
+	private static Object extractKey(Map<String, Object> keyMap, String generatedKeyName) {
+		if (keyMap.size() == 1) {
+			return keyMap.values().iterator().next();
+		}
+		Object key = findParamValue(keyMap, generatedKeyName);
+		if (key == null) {
+			throw new GenericDaoException("Generated key '" + generatedKeyName + "' not found in " + keyMap.keySet());
+		}
+		return key;
+	}
+
+	/**
+	 * The key of a compiled insert. Columns and generated keys are sorted so that the same column-set always
+	 * resolves to the same insert, whatever the iteration order or the spelling of the caller's map. The insert
+	 * is compiled with the spelling of the first caller, so that its params are matched by exact name.
+	 */
+	private static final class InsertKey {
+
+		/** The schema. */
+		private final String schema;
+
+		/** The table. */
+		private final String table;
+
+		/** The column names, lower-case - compared. */
+		private final String[] columnNames;
+
+		/** The column names as the caller spelled them - compiled, not compared. */
+		private final String[] insertColumnNames;
+
+		/** The generated key names. */
+		private final String[] generatedKeyNames;
+
+		/** The hash code. */
+		private final int hashCode;
+
+		/**
+		 * Instantiates a new insert key.
+		 *
+		 * @param schema the schema
+		 * @param table the table
+		 * @param columnNames the column names
+		 * @param generatedKeyNames the generated key names
+		 */
+		private InsertKey(String schema, String table, Set<String> columnNames, Set<String> generatedKeyNames) {
+			this.schema = schema;
+			this.table = table;
+			this.columnNames = toSortedLowerCase(columnNames);
+			this.insertColumnNames = new TreeSet<>(columnNames).toArray(new String[0]);
+			this.generatedKeyNames = generatedKeyNames == null ? new String[0]
+					: new TreeSet<>(generatedKeyNames).toArray(new String[0]);
+			this.hashCode = Objects.hash(schema, table, Arrays.hashCode(this.columnNames),
+					Arrays.hashCode(this.generatedKeyNames));
+		}
+
+		/**
+		 * Sorts and lower-cases the column names; the insert matches the params to columns case-insensitively,
+		 * so a column-set must not be cached once per spelling.
+		 *
+		 * @param columnNames the column names
+		 * @return the sorted lower-case column names
+		 */
+		private static String[] toSortedLowerCase(Set<String> columnNames) {
+			Set<String> lowerCaseNames = new TreeSet<>();
+			for (String columnName : columnNames) {
+				lowerCaseNames.add(columnName.toLowerCase());
+			}
+			return lowerCaseNames.toArray(new String[0]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof InsertKey)) {
+				return false;
+			}
+			InsertKey other = (InsertKey) obj;
+			return Objects.equals(schema, other.schema) && table.equals(other.table)
+					&& Arrays.equals(columnNames, other.columnNames)
+					&& Arrays.equals(generatedKeyNames, other.generatedKeyNames);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
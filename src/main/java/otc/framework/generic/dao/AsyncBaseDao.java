@@ -0,0 +1,340 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+import otc.framework.generic.dao.dto.BatchUpsertResultDto;
+import otc.framework.generic.dao.dto.KeysetPageDto;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * The execute methods of a {@link BaseDao}, run on a bounded executor and returned as futures - see
+ * {@link AbstractDaoImpl#createAsyncDao(otc.framework.generic.dao.dto.AsyncDaoOptionsDto)}.
+ *
+ * <p>A statement is admitted only while fewer than max-concurrency plus max-queued statements are in flight;
+ * beyond that the caller waits up to the admission timeout, then gets a future failed with a
+ * {@link otc.framework.generic.dao.exception.GenericDaoException}. The streaming queries are not mirrored - their
+ * stream holds a connection open until closed, while the permit of a call is given back once it returns, so a
+ * stream would escape the limits. Run them on the calling thread instead.
+ */
+public interface AsyncBaseDao extends AutoCloseable {
+
+    /**
+     * Runs any call on the dao under the same admission and concurrency limits. They hold while the call runs -
+     * a stream or other open resource it returns is outside them.
+     *
+     * @param <T> the generic type
+     * @param call the call
+     * @return the future
+     */
+    <T> CompletableFuture<T> submit(Function<BaseDao, T> call);
+
+    /**
+     * Gets the number of statements admitted and not yet finished - running or waiting to run.
+     *
+     * @return the in-flight count
+     */
+    int getInFlightCount();
+
+    /**
+     * Stops admitting statements; those admitted still run.
+     */
+    @Override
+    void close();
+
+    /**
+     * Execute insert.
+     *
+     * @see BaseDao#executeInsert(String, Map)
+     */
+    CompletableFuture<Integer> executeInsert(String table, Map<String, Object> params);
+
+    /**
+     * Execute insert.
+     *
+     * @see BaseDao#executeInsert(String, String, Map)
+     */
+    CompletableFuture<Integer> executeInsert(String schema, String table, Map<String, Object> params);
+
+    /**
+     * Execute insert.
+     *
+     * @see BaseDao#executeInsert(String, String, SqlParameterSource)
+     */
+    CompletableFuture<Integer> executeInsert(String schema, String table, SqlParameterSource paramSource);
+
+    /**
+     * Execute insert and return key holder.
+     *
+     * @see BaseDao#executeInsertAndReturnKeyHolder(String, String, Map, Set)
+     */
+    CompletableFuture<KeyHolder> executeInsertAndReturnKeyHolder(String schema, String table,
+            Map<String, Object> params, Set<String> generatedKeyNames);
+
+    /**
+     * Execute insert and return key.
+     *
+     * @see BaseDao#executeInsertAndReturnKey(String, String, Map, Set)
+     */
+    <T> CompletableFuture<T> executeInsertAndReturnKey(String schema, String table, Map<String, Object> params,
+            Set<String> generatedKeyNames);
+
+    /**
+     * Execute batch insert.
+     *
+     * @see BaseDao#executeBatchInsert(String, String, Map[])
+     */
+    CompletableFuture<int[]> executeBatchInsert(String schema, String table, Map<String, Object>[] params);
+
+    /**
+     * Execute batch insert.
+     *
+     * @see BaseDao#executeBatchInsert(String, String, SqlParameterSource[])
+     */
+    CompletableFuture<int[]> executeBatchInsert(String schema, String table, SqlParameterSource[] params);
+
+    /**
+     * Execute batch insert.
+     *
+     * @see BaseDao#executeBatchInsert(String, String, Iterator, BatchInsertOptionsDto)
+     */
+    CompletableFuture<BatchInsertResultDto> executeBatchInsert(String schema, String table,
+            Iterator<Map<String, Object>> rows, BatchInsertOptionsDto options);
+
+    /**
+     * Execute batch insert.
+     *
+     * @see BaseDao#executeBatchInsert(String, String, RowSchema, Iterator, BatchInsertOptionsDto)
+     */
+    CompletableFuture<BatchInsertResultDto> executeBatchInsert(String schema, String table, RowSchema rowSchema,
+            Iterator<CompactRow> rows, BatchInsertOptionsDto options);
+
+    /**
+     * Execute batch insert and return keys.
+     *
+     * @see BaseDao#executeBatchInsertAndReturnKeys(String, String, Map[], String)
+     */
+    <T> CompletableFuture<List<T>> executeBatchInsertAndReturnKeys(String schema, String table,
+            Map<String, Object>[] params, String generatedKeyName);
+
+    /**
+     * Execute multi-row insert.
+     *
+     * @see BaseDao#executeMultiRowInsert(String, String, List)
+     */
+    CompletableFuture<Integer> executeMultiRowInsert(String schema, String table, List<Map<String, Object>> rows);
+
+    /**
+     * Execute batch upsert.
+     *
+     * @see BaseDao#executeBatchUpsert(List)
+     * @deprecated use {@link #executeBatchUpsert(String, String, List, List, Map[])}
+     */
+    @Deprecated
+    CompletableFuture<int[]> executeBatchUpsert(List<String> lstBatchSql);
+
+    /**
+     * Execute batch upsert.
+     *
+     * @see BaseDao#executeBatchUpsert(String, String, List, List, Map[])
+     */
+    CompletableFuture<BatchUpsertResultDto> executeBatchUpsert(String schema, String table, List<String> keyColumns,
+            List<String> updateColumns, Map<String, Object>[] rows);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(String, Class)
+     */
+    <T> CompletableFuture<T> executeQuery(String query, Class<T> cls);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(String, RowMapper)
+     */
+    <T> CompletableFuture<List<T>> executeQuery(String query, RowMapper<T> rowMapper);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(String, Object[], RowMapper)
+     */
+    <T> CompletableFuture<List<T>> executeQuery(String query, Object[] params, RowMapper<T> rowMapper);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(String, ResultSetExtractor)
+     */
+    <T> CompletableFuture<T> executeQuery(String query, ResultSetExtractor<T> rsExtractor);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(QueryTemplate, Object[], RowMapper)
+     */
+    <T> CompletableFuture<List<T>> executeQuery(QueryTemplate template, Object[] params, RowMapper<T> rowMapper);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(QueryTemplate, Object[], ResultSetExtractor)
+     */
+    <T> CompletableFuture<T> executeQuery(QueryTemplate template, Object[] params,
+            ResultSetExtractor<T> rsExtractor);
+
+    /**
+     * Execute query.
+     *
+     * @see BaseDao#executeQuery(QueryTemplate, Map, RowMapper)
+     */
+    <T> CompletableFuture<List<T>> executeQuery(QueryTemplate template, Map<String, ?> paramMap,
+            RowMapper<T> rowMapper);
+
+    /**
+     * Execute query for dtos.
+     *
+     * @see BaseDao#executeQueryForDtos(String, Object[], Class)
+     */
+    <T> CompletableFuture<List<T>> executeQueryForDtos(String query, Object[] params, Class<T> dtoClass);
+
+    /**
+     * Execute query for object.
+     *
+     * @see BaseDao#executeQueryForObject(String, Object[], RowMapper)
+     */
+    <T> CompletableFuture<T> executeQueryForObject(String query, Object[] params, RowMapper<T> rowMapper);
+
+    /**
+     * Execute query for columns.
+     *
+     * @see BaseDao#executeQueryForColumns(String, Object[])
+     */
+    CompletableFuture<ColumnarResult> executeQueryForColumns(String query, Object[] params);
+
+    /**
+     * Execute keyset query.
+     *
+     * @see BaseDao#executeKeysetQuery(KeysetQuery, String, Map, RowMapper)
+     */
+    <T> CompletableFuture<KeysetPageDto<T>> executeKeysetQuery(KeysetQuery query, String token,
+            Map<String, ?> paramMap, RowMapper<T> rowMapper);
+
+    /**
+     * Execute named query.
+     *
+     * @see BaseDao#executeNamedQuery(String, Map, ResultSetExtractor)
+     */
+    <T> CompletableFuture<T> executeNamedQuery(String sql, Map<String, Object> paramMap,
+            ResultSetExtractor<T> rse);
+
+    /**
+     * Execute named query.
+     *
+     * @see BaseDao#executeNamedQuery(String, Map, RowMapper)
+     */
+    <T> CompletableFuture<T> executeNamedQuery(String sql, Map<String, Object> paramMap, RowMapper<T> rowMapper);
+
+    /**
+     * Execute update.
+     *
+     * @see BaseDao#executeUpdate(String)
+     */
+    CompletableFuture<Integer> executeUpdate(String sql);
+
+    /**
+     * Execute update.
+     *
+     * @see BaseDao#executeUpdate(String, Object[])
+     */
+    CompletableFuture<Integer> executeUpdate(String query, Object[] params);
+
+    /**
+     * Execute update.
+     *
+     * @see BaseDao#executeUpdate(String, PreparedStatementSetter)
+     */
+    CompletableFuture<Integer> executeUpdate(String query, PreparedStatementSetter pss);
+
+    /**
+     * Execute update for named sql.
+     *
+     * @see BaseDao#executeUpdateForNamedSql(String, SqlParameterSource)
+     */
+    CompletableFuture<Integer> executeUpdateForNamedSql(String sql, SqlParameterSource params);
+
+    /**
+     * Execute named update.
+     *
+     * @see BaseDao#executeNamedUpdate(String, Map)
+     */
+    CompletableFuture<Integer> executeNamedUpdate(String sql, Map<String, ?> paramMap);
+
+    /**
+     * Execute batch update.
+     *
+     * @see BaseDao#executeBatchUpdate(String, List)
+     */
+    CompletableFuture<int[]> executeBatchUpdate(String query, List<Object[]> objArr);
+
+    /**
+     * Execute named batch update.
+     *
+     * @see BaseDao#executeNamedBatchUpdate(String, SqlParameterSource[])
+     */
+    CompletableFuture<int[]> executeNamedBatchUpdate(String sql, SqlParameterSource[] params);
+
+    /**
+     * Execute named batch update.
+     *
+     * @see BaseDao#executeNamedBatchUpdate(String, Map[])
+     */
+    CompletableFuture<int[]> executeNamedBatchUpdate(String sql, Map<String, Object>[] params);
+
+    /**
+     * Execute delete.
+     *
+     * @see BaseDao#executeDelete(String)
+     */
+    CompletableFuture<Integer> executeDelete(String sql);
+
+    /**
+     * Execute delete.
+     *
+     * @see BaseDao#executeDelete(String, Object[])
+     */
+    CompletableFuture<Integer> executeDelete(String query, Object[] params);
+
+    /**
+     * Execute delete for named sql.
+     *
+     * @see BaseDao#executeDeleteForNamedSql(String, SqlParameterSource)
+     */
+    CompletableFuture<Integer> executeDeleteForNamedSql(String sql, SqlParameterSource params);
+
+    /**
+     * Execute named delete.
+     *
+     * @see BaseDao#executeNamedDelete(String, Map)
+     */
+    CompletableFuture<Integer> executeNamedDelete(String sql, Map<String, ?> paramMap);
+
+    /**
+     * Execute delete by keys.
+     *
+     * @see BaseDao#executeDeleteByKeys(String, String, String, Collection)
+     */
+    CompletableFuture<Integer> executeDeleteByKeys(String schema, String table, String keyColumn, Collection<?> keys);
+}
@@ -0,0 +1,421 @@
+package otc.framework.generic.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.support.KeyHolder;
+import otc.framework.generic.dao.dto.AsyncDaoOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+import otc.framework.generic.dao.dto.BatchUpsertResultDto;
+import otc.framework.generic.dao.dto.KeysetPageDto;
+import otc.framework.generic.dao.exception.GenericDaoException;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The async dao - admits statements against a semaphore of max-concurrency plus max-queued permits, taken by the
+ * caller and given back once the statement finishes, so at most that many are ever waiting or running.
+ *
+ * <p>On platform threads the pool holds max-concurrency threads. On virtual threads each statement gets its own
+ * thread and a second, fair semaphore of max-concurrency permits keeps the number on JDBC at once within the
+ * connection pool - a virtual thread waiting on it costs next to nothing.
+ */
+final class AsyncDaoImpl implements AsyncBaseDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDaoImpl.class);
+
+    /** The pool-size getters of HikariCP, commons-dbcp2, tomcat-jdbc and c3p0/UCP, tried in turn. */
+    private static final String[] POOL_SIZE_GETTERS = {"getMaximumPoolSize", "getMaxTotal", "getMaxActive",
+            "getMaxPoolSize"};
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final BaseDao dao;
+
+    private final ExecutorService executor;
+
+    private final Semaphore admission;
+
+    /** The running permits on virtual threads; null on platform threads, where the pool size bounds them. */
+    private final Semaphore concurrency;
+
+    private final int admissionLimit;
+
+    private final long admissionTimeoutMillis;
+
+    private volatile boolean closed;
+
+    AsyncDaoImpl(BaseDao dao, DataSource dataSource, AsyncDaoOptionsDto options) {
+        if (options.getMaxConcurrency() < 0 || options.getMaxQueued() < 0 || options.getAdmissionTimeoutMillis() < 0) {
+            throw new GenericDaoValidationException("Max-concurrency, max-queued and admission-timeout cannot be "
+                    + "negative !");
+        }
+        this.dao = dao;
+        int maxConcurrency = options.getMaxConcurrency() > 0 ? options.getMaxConcurrency()
+                : detectPoolSize(dataSource);
+        this.admissionLimit = maxConcurrency + options.getMaxQueued();
+        this.admission = new Semaphore(admissionLimit);
+        this.admissionTimeoutMillis = options.getAdmissionTimeoutMillis();
+        ExecutorService virtualThreadExecutor = options.isUseVirtualThreads() ? createVirtualThreadExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            this.executor = virtualThreadExecutor;
+            this.concurrency = new Semaphore(maxConcurrency, true);
+        } else {
+            // unbounded queue - admission already bounds what can be queued
+            this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "generic-dao-async-" + THREAD_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.concurrency = null;
+        }
+        LOGGER.debug("Async dao running {} statements at once on {} threads, admitting {}", maxConcurrency,
+                concurrency == null ? "platform" : "virtual", admissionLimit);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Function<BaseDao, T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new GenericDaoException("Async dao is closed !"));
+            return future;
+        }
+        try {
+            boolean admitted = admissionTimeoutMillis == 0 ? admission.tryAcquire()
+                    : admission.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (!admitted) {
+                future.completeExceptionally(new GenericDaoException("Async dao at capacity - " + admissionLimit
+                        + " statements in flight !"));
+                return future;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new GenericDaoException("Interrupted while waiting for admission", e));
+            return future;
+        }
+        try {
+            executor.execute(() -> run(call, future));
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            future.completeExceptionally(new GenericDaoException("Async dao is closed !", e));
+        }
+        return future;
+    }
+
+    /**
+     * Runs an admitted call; permits are given back before the future completes, so a dependent stage submitting
+     * the next statement is not refused by its own predecessor.
+     */
+    private <T> void run(Function<BaseDao, T> call, CompletableFuture<T> future) {
+        T result = null;
+        Throwable failure = null;
+        try {
+            if (concurrency != null) {
+                concurrency.acquire();
+            }
+            try {
+                result = call.apply(dao);
+            } finally {
+                if (concurrency != null) {
+                    concurrency.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new GenericDaoException("Interrupted while waiting to run", e);
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            admission.release();
+        }
+        if (failure == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return admissionLimit - admission.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor, found reflectively - null before JDK 21.
+     *
+     * @return the executor service, or null
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Virtual threads not available - " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the max size of the connection pool behind a data source, else {@link BaseDao#DEFAULT_ASYNC_CONCURRENCY}.
+     *
+     * @param dataSource the data source
+     * @return the pool size
+     */
+    static int detectPoolSize(DataSource dataSource) {
+        DataSource target = dataSource;
+        while (target instanceof DelegatingDataSource) {
+            target = ((DelegatingDataSource) target).getTargetDataSource();
+        }
+        if (target != null) {
+            for (String getter : POOL_SIZE_GETTERS) {
+                try {
+                    Object size = target.getClass().getMethod(getter).invoke(target);
+                    if (size instanceof Integer && (Integer) size > 0) {
+                        return (Integer) size;
+                    }
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // not this pool
+                }
+            }
+        }
+        return BaseDao.DEFAULT_ASYNC_CONCURRENCY;
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeInsert(String table, Map<String, Object> params) {
+        return submit(baseDao -> baseDao.executeInsert(table, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeInsert(String schema, String table, Map<String, Object> params) {
+        return submit(baseDao -> baseDao.executeInsert(schema, table, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeInsert(String schema, String table, SqlParameterSource paramSource) {
+        return submit(baseDao -> baseDao.executeInsert(schema, table, paramSource));
+    }
+
+    @Override
+    public CompletableFuture<KeyHolder> executeInsertAndReturnKeyHolder(String schema, String table,
+            Map<String, Object> params, Set<String> generatedKeyNames) {
+        return submit(baseDao -> baseDao.executeInsertAndReturnKeyHolder(schema, table, params, generatedKeyNames));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeInsertAndReturnKey(String schema, String table,
+            Map<String, Object> params, Set<String> generatedKeyNames) {
+        return submit(baseDao -> baseDao.<T>executeInsertAndReturnKey(schema, table, params, generatedKeyNames));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeBatchInsert(String schema, String table, Map<String, Object>[] params) {
+        return submit(baseDao -> baseDao.executeBatchInsert(schema, table, params));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeBatchInsert(String schema, String table, SqlParameterSource[] params) {
+        return submit(baseDao -> baseDao.executeBatchInsert(schema, table, params));
+    }
+
+    @Override
+    public CompletableFuture<BatchInsertResultDto> executeBatchInsert(String schema, String table,
+            Iterator<Map<String, Object>> rows, BatchInsertOptionsDto options) {
+        return submit(baseDao -> baseDao.executeBatchInsert(schema, table, rows, options));
+    }
+
+    @Override
+    public CompletableFuture<BatchInsertResultDto> executeBatchInsert(String schema, String table,
+            RowSchema rowSchema, Iterator<CompactRow> rows, BatchInsertOptionsDto options) {
+        return submit(baseDao -> baseDao.executeBatchInsert(schema, table, rowSchema, rows, options));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeBatchInsertAndReturnKeys(String schema, String table,
+            Map<String, Object>[] params, String generatedKeyName) {
+        return submit(baseDao -> baseDao.<T>executeBatchInsertAndReturnKeys(schema, table, params,
+                generatedKeyName));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeMultiRowInsert(String schema, String table,
+            List<Map<String, Object>> rows) {
+        return submit(baseDao -> baseDao.executeMultiRowInsert(schema, table, rows));
+    }
+
+    @Override
+    @Deprecated
+    public CompletableFuture<int[]> executeBatchUpsert(List<String> lstBatchSql) {
+        return submit(baseDao -> baseDao.executeBatchUpsert(lstBatchSql));
+    }
+
+    @Override
+    public CompletableFuture<BatchUpsertResultDto> executeBatchUpsert(String schema, String table,
+            List<String> keyColumns, List<String> updateColumns, Map<String, Object>[] rows) {
+        return submit(baseDao -> baseDao.executeBatchUpsert(schema, table, keyColumns, updateColumns, rows));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeQuery(String query, Class<T> cls) {
+        return submit(baseDao -> baseDao.executeQuery(query, cls));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeQuery(String query, RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeQuery(query, rowMapper));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeQuery(String query, Object[] params, RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeQuery(query, params, rowMapper));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeQuery(String query, ResultSetExtractor<T> rsExtractor) {
+        return submit(baseDao -> baseDao.executeQuery(query, rsExtractor));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeQuery(QueryTemplate template, Object[] params,
+            RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeQuery(template, params, rowMapper));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeQuery(QueryTemplate template, Object[] params,
+            ResultSetExtractor<T> rsExtractor) {
+        return submit(baseDao -> baseDao.executeQuery(template, params, rsExtractor));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeQuery(QueryTemplate template, Map<String, ?> paramMap,
+            RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeQuery(template, paramMap, rowMapper));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> executeQueryForDtos(String query, Object[] params, Class<T> dtoClass) {
+        return submit(baseDao -> baseDao.executeQueryForDtos(query, params, dtoClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeQueryForObject(String query, Object[] params, RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeQueryForObject(query, params, rowMapper));
+    }
+
+    @Override
+    public CompletableFuture<ColumnarResult> executeQueryForColumns(String query, Object[] params) {
+        return submit(baseDao -> baseDao.executeQueryForColumns(query, params));
+    }
+
+    @Override
+    public <T> CompletableFuture<KeysetPageDto<T>> executeKeysetQuery(KeysetQuery query, String token,
+            Map<String, ?> paramMap, RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeKeysetQuery(query, token, paramMap, rowMapper));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeNamedQuery(String sql, Map<String, Object> paramMap,
+            ResultSetExtractor<T> rse) {
+        return submit(baseDao -> baseDao.executeNamedQuery(sql, paramMap, rse));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeNamedQuery(String sql, Map<String, Object> paramMap,
+            RowMapper<T> rowMapper) {
+        return submit(baseDao -> baseDao.executeNamedQuery(sql, paramMap, rowMapper));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdate(String sql) {
+        return submit(baseDao -> baseDao.executeUpdate(sql));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdate(String query, Object[] params) {
+        return submit(baseDao -> baseDao.executeUpdate(query, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdate(String query, PreparedStatementSetter pss) {
+        return submit(baseDao -> baseDao.executeUpdate(query, pss));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeUpdateForNamedSql(String sql, SqlParameterSource params) {
+        return submit(baseDao -> baseDao.executeUpdateForNamedSql(sql, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeNamedUpdate(String sql, Map<String, ?> paramMap) {
+        return submit(baseDao -> baseDao.executeNamedUpdate(sql, paramMap));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeBatchUpdate(String query, List<Object[]> objArr) {
+        return submit(baseDao -> baseDao.executeBatchUpdate(query, objArr));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeNamedBatchUpdate(String sql, SqlParameterSource[] params) {
+        return submit(baseDao -> baseDao.executeNamedBatchUpdate(sql, params));
+    }
+
+    @Override
+    public CompletableFuture<int[]> executeNamedBatchUpdate(String sql, Map<String, Object>[] params) {
+        return submit(baseDao -> baseDao.executeNamedBatchUpdate(sql, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeDelete(String sql) {
+        return submit(baseDao -> baseDao.executeDelete(sql));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeDelete(String query, Object[] params) {
+        return submit(baseDao -> baseDao.executeDelete(query, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeDeleteForNamedSql(String sql, SqlParameterSource params) {
+        return submit(baseDao -> baseDao.executeDeleteForNamedSql(sql, params));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeNamedDelete(String sql, Map<String, ?> paramMap) {
+        return submit(baseDao -> baseDao.executeNamedDelete(sql, paramMap));
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeDeleteByKeys(String schema, String table, String keyColumn,
+            Collection<?> keys) {
+        return submit(baseDao -> baseDao.executeDeleteByKeys(schema, table, keyColumn, keys));
+    }
+}
@@ -27,11 +27,24 @@ import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
+import otc.framework.generic.dao.SequenceAllocator.ALLOCATION_STRATEGY;
+import otc.framework.generic.dao.dialect.SqlDialect;
+import otc.framework.generic.dao.dto.BatchInsertOptionsDto;
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+import otc.framework.generic.dao.dto.BatchUpsertResultDto;
+import otc.framework.generic.dao.dto.CacheStatsDto;
+import otc.framework.generic.dao.dto.KeysetPageDto;
+import otc.framework.generic.dao.dto.SequenceStatsDto;
+import otc.framework.generic.dao.dto.TableColumnDto;
 import otc.framework.generic.dao.dto.TableMetaDataDto;
+import otc.framework.generic.dao.exception.GenericDaoBatchInsertException;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -42,6 +55,48 @@ public interface BaseDao {
 	/** The nanos in one milli. */
 	long NANOS_IN_ONE_MILLI = 1000000;
 
+	/** The default number of compiled inserts kept per dao. */
+	int DEFAULT_INSERT_CACHE_SIZE = 512;
+
+	/** The default number of parsed named-sql statements kept per dao. */
+	int DEFAULT_PARSED_SQL_CACHE_SIZE = 1024;
+
+	/** The default number of tables whose meta-data is kept per dao. */
+	int DEFAULT_TABLE_META_DATA_CACHE_SIZE = 1024;
+
+	/** The default time table meta-data is trusted before it is read again - 10 minutes. */
+	long DEFAULT_TABLE_META_DATA_TTL_MILLIS = 600000;
+
+	/** The default number of values a pooled sequence reserves per round trip. */
+	int DEFAULT_SEQUENCE_BLOCK_SIZE = 50;
+
+	/** The default number of rows the streaming queries fetch per round trip. */
+	int DEFAULT_FETCH_SIZE = 1000;
+
+	/** The default number of rows sent per JDBC batch by the streaming inserts. */
+	int DEFAULT_BATCH_SIZE = 1000;
+
+	/** The default number of query results kept by the result cache. */
+	int DEFAULT_QUERY_RESULT_CACHE_SIZE = 1024;
+
+	/** The default time a cached query result is kept - 1 minute. */
+	long DEFAULT_QUERY_RESULT_CACHE_TTL_MILLIS = 60000;
+
+	/** The default number of statements an async dao runs at once, when the pool size cannot be read. */
+	int DEFAULT_ASYNC_CONCURRENCY = 10;
+
+	/** The default number of statements an async dao admits beyond those running. */
+	int DEFAULT_ASYNC_QUEUE_SIZE = 256;
+
+	/**
+	 * The max number of bind parameters of one statement - the MySQL driver limit. The PostgreSQL driver allows
+	 * no more than {@link Short#MAX_VALUE}, which its dialect reports instead.
+	 */
+	int MAX_BIND_PARAMETERS = 65535;
+
+	/** The max number of keys of one {@code IN (...)} list of a delete by keys - lowered to a dialect limit. */
+	int DEFAULT_MAX_IN_LIST_SIZE = 1024;
+
 	String INSERT_INTO = "INSERT INTO ";
 	String SELECT = "SELECT ";
 	String FROM = " FROM ";
@@ -49,8 +104,16 @@ public interface BaseDao {
 	String DELETE = "DELETE ";
 	String SET = " SET ";
 	String VALUES = " VALUES (";
+	String VALUES_SEPARATOR = "), (";
 	String ON_CONFLICT = " ON CONFLICT (";
 	String DO_UPDATE_SET = " DO UPDATE SET ";
+	String DO_NOTHING = " DO NOTHING";
+	String ORDER_BY = " ORDER BY ";
+	String DESC = " DESC";
+	String LIMIT = " LIMIT ";
+	String FETCH_FIRST = " FETCH FIRST ";
+	String OFFSET_FETCH_NEXT = " OFFSET 0 ROWS FETCH NEXT ";
+	String ROWS_ONLY = " ROWS ONLY";
 
 	/** The column status. */
 	String COLUMN_NAME_STATUS = "STATUS";
@@ -82,6 +145,15 @@ public interface BaseDao {
 	/** The Constant COLON. */
 	String COLON = ":";
 
+	/** The prefix reserved for the parameters the builders name; a named criteria cannot start with it. */
+	String RESERVED_PARAMETER_PREFIX = "gd_";
+
+	/** The prefix of the auto-named bind parameters - gd_p1, gd_p2 ... */
+	String BIND_PARAMETER_PREFIX = RESERVED_PARAMETER_PREFIX + "p";
+
+	/** The prefix of the keyset seek parameters - gd_k1, gd_k2 ... */
+	String KEYSET_PARAMETER_PREFIX = RESERVED_PARAMETER_PREFIX + "k";
+
 	/** The Constant SEMI_COLON. */
 	String SEMI_COLON = ";";
 
@@ -140,6 +212,44 @@ public interface BaseDao {
 	 */
 	public boolean isTableExists(String tableName);
 
+	/**
+	 * Checks if is table exists - answered from the table meta-data cache.
+	 *
+	 * @param schema the schema, or null for that of the connection
+	 * @param tableName the table name
+	 * @return true, if is table exists
+	 */
+	public boolean isTableExists(String schema, String tableName);
+
+	/**
+	 * Gets the columns of a table - answered from the table meta-data cache.
+	 *
+	 * @param schema the schema, or null for that of the connection
+	 * @param tableName the table name
+	 * @return the columns keyed by lower-case column name, in table order; empty if the table does not exist
+	 */
+	public Map<String, TableColumnDto> getTableColumns(String schema, String tableName);
+
+	/**
+	 * Re-reads the meta-data of a table and drops its compiled inserts - call after altering it outside the dao.
+	 *
+	 * @param schema the schema, or null for that of the connection
+	 * @param tableName the table name
+	 */
+	public void refreshTableMetaData(String schema, String tableName);
+
+	/**
+	 * Drops all cached table meta-data and compiled inserts.
+	 */
+	public void refreshTableMetaData();
+
+	/**
+	 * Gets the statistics of the table meta-data cache.
+	 *
+	 * @return the table meta data cache stats
+	 */
+	public CacheStatsDto getTableMetaDataCacheStats();
+
 	/**
 	 * Creates the table.
 	 *
@@ -156,6 +266,31 @@ public interface BaseDao {
 	 */
 	public abstract long fetchNextSeqValue(String seqName);
 
+	/**
+	 * Fetch next pooled seq value - taken from a block of values reserved in one round trip, see
+	 * {@link #configureSequence(String, int, ALLOCATION_STRATEGY)}.
+	 *
+	 * @param seqName the seq name
+	 * @return the long
+	 */
+	public abstract long fetchNextPooledSeqValue(String seqName);
+
+	/**
+	 * Configures how a pooled sequence reserves its blocks.
+	 *
+	 * @param seqName the seq name
+	 * @param blockSize the number of values reserved per round trip
+	 * @param strategy the strategy
+	 */
+	public abstract void configureSequence(String seqName, int blockSize, ALLOCATION_STRATEGY strategy);
+
+	/**
+	 * Gets the refill statistics of the pooled sequences.
+	 *
+	 * @return the stats by sequence name
+	 */
+	public abstract Map<String, SequenceStatsDto> getSequenceStats();
+
 	/**
 	 * Execute insert.
 	 *
@@ -165,6 +300,27 @@ public interface BaseDao {
 	 */
 	public abstract int executeInsert(String table, Map<String, Object> params);
 
+	/**
+	 * Execute insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @return the int
+	 */
+	public abstract int executeInsert(String schema, String table, Map<String, Object> params);
+
+	/**
+	 * Execute insert - of the columns named by {@link SqlParameterSource#getParameterNames()}, e.g. the fields of
+	 * a {@link BeanParameterSource}.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param paramSource the param source
+	 * @return the int
+	 */
+	public abstract int executeInsert(String schema, String table, SqlParameterSource paramSource);
+
     /**
 	 * Execute insert and return key holder.
 	 *
@@ -186,6 +342,18 @@ public interface BaseDao {
 	public KeyHolder executeInsertAndReturnKeyHolder(String table, Map<String, Object> params,
 			Set<String> generatedKeyNames);
 
+	/**
+	 * Execute insert and return key holder.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyNames the generated keys
+	 * @return the key holder
+	 */
+	public KeyHolder executeInsertAndReturnKeyHolder(String schema, String table, Map<String, Object> params,
+			Set<String> generatedKeyNames);
+
 	/**
 	 * Execute insert and return key.
 	 *
@@ -206,6 +374,18 @@ public interface BaseDao {
 	 */
 	public <T> T executeInsertAndReturnKey(String table, Map<String, Object> params, Set<String> generatedKeyNames);
 
+	/**
+	 * Execute insert and return key.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyNames the generated keys
+	 * @return the object
+	 */
+	public <T> T executeInsertAndReturnKey(String schema, String table, Map<String, Object> params,
+			Set<String> generatedKeyNames);
+
 	/**
 	 * Execute batch insert.
 	 *
@@ -225,14 +405,159 @@ public interface BaseDao {
 	 */
 	public abstract int[] executeBatchInsert(String schema, String table, Map<String, Object>[] params);
 
+	/**
+	 * Execute batch insert - rows of one {@link RowSchema}, e.g. from
+	 * {@link NamedParameterArgumentsArrayBuilder#buildRows()}, are bound by slot without a map per row.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @return the int[]
+	 */
+	public abstract int[] executeBatchInsert(String schema, String table, SqlParameterSource[] params);
+
+	/**
+	 * Execute batch insert and return keys.
+	 *
+	 * @param <T> the key type
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyName the generated key
+	 * @return the generated key of each row, in the order of the params
+	 */
+	public abstract <T> List<T> executeBatchInsertAndReturnKeys(String table, Map<String, Object>[] params,
+			String generatedKeyName);
+
+	/**
+	 * Execute batch insert and return keys.
+	 *
+	 * @param <T> the key type
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyName the generated key
+	 * @return the generated key of each row, in the order of the params
+	 */
+	public abstract <T> List<T> executeBatchInsertAndReturnKeys(String schema, String table,
+			Map<String, Object>[] params, String generatedKeyName);
+
+	/**
+	 * Execute batch insert and return key holder - one JDBC batch when the dialect supports batch generated keys
+	 * (PostgreSQL, MySQL), one execution of the same prepared statement per row otherwise.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param params the params
+	 * @param generatedKeyNames the generated keys
+	 * @return the key holder, with one key map per row in the order of the params
+	 */
+	public abstract KeyHolder executeBatchInsertAndReturnKeyHolder(String schema, String table,
+			Map<String, Object>[] params, Set<String> generatedKeyNames);
+
+	/**
+	 * Execute batch insert - reads the rows lazily and sends them in batches of {@code options.batchSize}, so
+	 * the whole data-set never sits in heap. With a parallelism above 1, chunks are executed at once on that
+	 * many pooled connections, each in its own transaction. Under the fail-fast policy a failed chunk stops the
+	 * load with a {@link GenericDaoBatchInsertException}, whose result tells the chunks that committed before it.
+	 *
+	 * <p>With a COPY load mode on PostgreSQL, the rows are instead streamed through one {@code COPY FROM STDIN}
+	 * on one connection; the columns are those of the first row - a later row missing one copies NULL into it, and
+	 * a later row with a column the first row lacks fails the whole copy, as the rows are not read ahead to
+	 * collect every column. Other databases fall back to batched inserts.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the per-chunk and total row counts and throughput
+	 */
+	public abstract BatchInsertResultDto executeBatchInsert(String schema, String table,
+			Iterator<Map<String, Object>> rows, BatchInsertOptionsDto options);
+
+	/**
+	 * Execute batch insert - rows of one {@link RowSchema}, read lazily, as
+	 * {@link #executeBatchInsert(String, String, Iterator, BatchInsertOptionsDto)} does.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rowSchema the row schema of all the rows
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the per-chunk and total row counts and throughput
+	 */
+	public abstract BatchInsertResultDto executeBatchInsert(String schema, String table, RowSchema rowSchema,
+			Iterator<CompactRow> rows, BatchInsertOptionsDto options);
+
+	/**
+	 * Execute batch insert.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param rows the rows
+	 * @param options the options
+	 * @return the per-chunk and total row counts and throughput
+	 * @see #executeBatchInsert(String, String, Iterator, BatchInsertOptionsDto)
+	 */
+	public abstract BatchInsertResultDto executeBatchInsert(String schema, String table,
+			Stream<Map<String, Object>> rows, BatchInsertOptionsDto options);
+
+	/**
+	 * Execute multi-row insert - inserts the rows with as few {@code INSERT ... VALUES (...), (...)} statements
+	 * as the bind-parameter limit of the dialect allows. The columns are the union of the keys of all rows,
+	 * matched case-insensitively; a row missing a column inserts NULL into it, not the column default.
+	 *
+	 * @param schema the schema, may be null
+	 * @param table the table
+	 * @param rows the rows
+	 * @return the number of rows inserted
+	 */
+	public abstract int executeMultiRowInsert(String schema, String table, List<Map<String, Object>> rows);
+
+	/**
+	 * Execute multi-row insert.
+	 *
+	 * @param schema the schema, may be null
+	 * @param table the table
+	 * @param rows the rows
+	 * @param maxParameters the max number of bind parameters per statement
+	 * @return the number of rows inserted
+	 * @see #executeMultiRowInsert(String, String, List)
+	 */
+	public abstract int executeMultiRowInsert(String schema, String table, List<Map<String, Object>> rows,
+			int maxParameters);
+
 	/**
 	 * Execute batch upsert.
 	 *
 	 * @param lstBatchSql the lst batch sql
 	 * @return the int[]
+	 * @deprecated every statement is parsed and planned on its own and its literals defeat the statement cache -
+	 *             use {@link #executeBatchUpsert(String, String, List, List, Map[])}
 	 */
+	@Deprecated
 	public abstract int[] executeBatchUpsert(List<String> lstBatchSql);
 
+	/**
+	 * Execute batch upsert - renders one parameterized insert-or-update for the dialect, with
+	 * {@link UpsertStatementBuilder}, and runs it as a single prepared batch. The columns are the union of the
+	 * keys of all rows; every row must carry each key and update column, and a row missing another column
+	 * inserts NULL into it.
+	 *
+	 * <p>Outcomes are read from the update counts, and on PostgreSQL from a {@code RETURNING} of whether each row
+	 * was inserted. MySQL reports 2 for an update, but 1 both for an insert and - with the driver's default
+	 * {@code useAffectedRows=false} - for a row left unchanged, so such a row is reported
+	 * {@link BatchUpsertResultDto.OUTCOME#INSERTED_OR_UPDATED}, as every row of a MERGE is.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param keyColumns the columns of the unique key that decides between insert and update
+	 * @param updateColumns the non-key columns set from the row on update; empty to leave existing rows untouched
+	 * @param rows the rows
+	 * @return the outcome of each row
+	 */
+	public abstract BatchUpsertResultDto executeBatchUpsert(String schema, String table, List<String> keyColumns,
+			List<String> updateColumns, Map<String, Object>[] rows);
+
 	/**
 	 * Execute query.
 	 *
@@ -264,6 +589,59 @@ public interface BaseDao {
 	 */
 	public abstract <T> List<T> executeQuery(String query, Object[] params, RowMapper<T> rowMapper);
 
+	/**
+	 * Execute query for dtos - each row mapped by the {@link DtoRowMapper} of the class.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param dtoClass the dto class
+	 * @return the list
+	 */
+	public abstract <T> List<T> executeQueryForDtos(String query, Object[] params, Class<T> dtoClass);
+
+	/**
+	 * Execute query for stream, fetching {@link #DEFAULT_FETCH_SIZE} rows per round trip.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the stream
+	 * @see #executeQueryForStream(String, Object[], RowMapper, int)
+	 */
+	public abstract <T> Stream<T> executeQueryForStream(String query, Object[] params, RowMapper<T> rowMapper);
+
+	/**
+	 * Execute query for stream - maps the rows lazily as the stream is consumed, so a large result is processed
+	 * in constant memory and at the consumer's pace. The stream holds a connection until it is closed, so it
+	 * must be used within try-with-resources. Some drivers (PostgreSQL) only honour the fetch size within a
+	 * transaction.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @param fetchSize the number of rows fetched per round trip
+	 * @return the stream
+	 */
+	public abstract <T> Stream<T> executeQueryForStream(String query, Object[] params, RowMapper<T> rowMapper,
+			int fetchSize);
+
+	/**
+	 * Execute named query for stream.
+	 *
+	 * @param <T> the generic type
+	 * @param sql the sql
+	 * @param paramMap the param map
+	 * @param rowMapper the row mapper
+	 * @param fetchSize the number of rows fetched per round trip
+	 * @return the stream
+	 * @see #executeQueryForStream(String, Object[], RowMapper, int)
+	 */
+	public abstract <T> Stream<T> executeNamedQueryForStream(String sql, Map<String, ?> paramMap,
+			RowMapper<T> rowMapper, int fetchSize);
+
 	/**
 	 * Execute for object.
 	 *
@@ -275,6 +653,65 @@ public interface BaseDao {
 	 */
 	public abstract <T> T executeQueryForObject(String query, Object[] params, RowMapper<T> rowMapper);
 
+	/**
+	 * Execute query - runs the positional form of a precompiled template; the params are in slot order,
+	 * see {@link QueryTemplate#toParameters(Map)} for named values.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param params the params
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	public abstract <T> List<T> executeQuery(QueryTemplate template, Object[] params, RowMapper<T> rowMapper);
+
+	/**
+	 * Execute query - runs the positional form of a precompiled template.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param params the params
+	 * @param rsExtractor the rs extractor
+	 * @return the t
+	 */
+	public abstract <T> T executeQuery(QueryTemplate template, Object[] params, ResultSetExtractor<T> rsExtractor);
+
+	/**
+	 * Execute query - runs a precompiled template with named values. The template's parsed form is used as is,
+	 * without a lookup in the parsed-sql cache; collection values are expanded into IN-lists.
+	 *
+	 * @param <T> the generic type
+	 * @param template the template
+	 * @param paramMap the param map
+	 * @param rowMapper the row mapper
+	 * @return the list
+	 */
+	public abstract <T> List<T> executeQuery(QueryTemplate template, Map<String, ?> paramMap, RowMapper<T> rowMapper);
+
+	/**
+	 * Execute keyset query - reads one page of a keyset paginated query.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param token the token of the previous page, or null for the first page
+	 * @param rowMapper the row mapper
+	 * @return the page
+	 */
+	public abstract <T> KeysetPageDto<T> executeKeysetQuery(KeysetQuery query, String token, RowMapper<T> rowMapper);
+
+	/**
+	 * Execute keyset query - reads one page of a keyset paginated query built with named criteria.
+	 *
+	 * @param <T> the generic type
+	 * @param query the query
+	 * @param token the token of the previous page, or null for the first page
+	 * @param paramMap the values of the named criteria
+	 * @param rowMapper the row mapper
+	 * @return the page
+	 */
+	public abstract <T> KeysetPageDto<T> executeKeysetQuery(KeysetQuery query, String token, Map<String, ?> paramMap,
+			RowMapper<T> rowMapper);
+
 	/**
 	 * Execute query.
 	 *
@@ -285,6 +722,17 @@ public interface BaseDao {
 	 */
 	public abstract <T> T executeQuery(String query, ResultSetExtractor<T> rsExtractor);
 
+	/**
+	 * Execute query for columns - the whole result read column by column into primitive arrays, on a
+	 * forward-only statement fetching {@link #DEFAULT_FETCH_SIZE} rows per round trip.
+	 *
+	 * @param query the query
+	 * @param params the params
+	 * @return the columnar result
+	 * @see ColumnarResultSetExtractor
+	 */
+	public abstract ColumnarResult executeQueryForColumns(String query, Object[] params);
+
 	/**
 	 * Execute update.
 	 *
@@ -359,6 +807,21 @@ public interface BaseDao {
 
     int executeNamedDelete(String sql, Map<String, ?> paramMap);
 
+    /**
+	 * Execute delete by keys - deletes the rows whose key column holds one of the keys. On PostgreSQL the keys
+	 * are bound as one array to {@code key = ANY(?)}. Elsewhere they go in {@code IN (?, ...)} lists of at most
+	 * {@link #DEFAULT_MAX_IN_LIST_SIZE} keys, or the dialect limit, rounded down to a power of two: full lists run
+	 * as one JDBC batch, and the last list is padded to the next power of two by repeating its last key - so a
+	 * table sees a handful of statement shapes whatever the number of keys.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param keyColumn the key column
+	 * @param keys the keys, none null; duplicates are dropped
+	 * @return the number of rows deleted
+	 */
+	public abstract int executeDeleteByKeys(String schema, String table, String keyColumn, Collection<?> keys);
+
     /**
 	 * Execute named query.
 	 *
@@ -404,4 +867,72 @@ public interface BaseDao {
 	 */
 	public abstract <T> Object executeNamedQueryForObj(String sql, Map<String, ?> paramMap, Class<T> requiredType);
 
+	/**
+	 * Gets the dialect of the database - detected from the connection metadata on first use and cached.
+	 *
+	 * @return the dialect
+	 */
+	public abstract SqlDialect getDialect();
+
+	/**
+	 * Reads the columns of each table of the schema into the meta-data cache, so that the first insert after a
+	 * deploy compiles without a meta-data lookup. Meant to be called at start-up, once per tenant schema. An
+	 * insert is compiled per column-set; to pre-compile the ones the callers use, see
+	 * {@link #warmUpInsert(String, String, Set, Set)}.
+	 *
+	 * @param schema the schema
+	 * @param tables the tables
+	 */
+	public abstract void warmUpInserts(String schema, Collection<String> tables);
+
+	/**
+	 * Pre-compiles the insert of exactly the given columns and generated keys.
+	 *
+	 * @param schema the schema
+	 * @param table the table
+	 * @param columnNames the column names
+	 * @param generatedKeyNames the generated keys, may be null
+	 */
+	public abstract void warmUpInsert(String schema, String table, Set<String> columnNames,
+			Set<String> generatedKeyNames);
+
+	/**
+	 * Evicts the compiled inserts of a table, e.g. after its columns were altered.
+	 *
+	 * @param schema the schema, or null to evict the table from every schema
+	 * @param table the table
+	 */
+	public abstract void invalidateInsertCache(String schema, String table);
+
+	/**
+	 * Evicts all the compiled inserts.
+	 */
+	public abstract void invalidateInsertCache();
+
+	/**
+	 * Gets the statistics of the cache of parsed named-parameter sql, used by all executeNamed* methods.
+	 *
+	 * @return the parsed sql cache stats
+	 */
+	public abstract CacheStatsDto getParsedSqlCacheStats();
+
+	/**
+	 * Gets the compiled-insert cache statistics.
+	 *
+	 * @return the insert cache stats
+	 */
+	public abstract CacheStatsDto getInsertCacheStats();
+
+	/**
+	 * Gets the query result cache statistics.
+	 *
+	 * @return the query result cache stats
+	 */
+	public abstract CacheStatsDto getQueryResultCacheStats();
+
+	/**
+	 * Evicts all the cached query results - after writes made outside of this dao.
+	 */
+	public abstract void invalidateQueryResultCache();
+
 }
@@ -0,0 +1,166 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import otc.framework.generic.dao.exception.GenericDaoException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link org.springframework.jdbc.core.namedparam.SqlParameterSource} reading the simple-typed fields of a bean
+ * directly, without copying them into a map.
+ *
+ * <p>The fields of a class - its own and its superclasses', static ones excepted - are resolved once into
+ * method handles and kept per class, so wrapping a bean costs one small allocation. Only the fields of a type
+ * listed in {@link AbstractDaoImpl#simpleTypes} are exposed; types registered there after a class was first
+ * wrapped are not picked up for that class. Parameter names match the field names, then case-insensitively.
+ */
+public final class BeanParameterSource extends AbstractSqlParameterSource {
+
+    private static final ClassValue<BeanAccessors> ACCESSORS = new ClassValue<BeanAccessors>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> cls) {
+            return new BeanAccessors(cls);
+        }
+    };
+
+    private final Object bean;
+
+    private final BeanAccessors accessors;
+
+    /**
+     * Instantiates a new bean parameter source.
+     *
+     * @param bean the bean
+     */
+    public BeanParameterSource(Object bean) {
+        this.bean = bean;
+        this.accessors = ACCESSORS.get(bean.getClass());
+    }
+
+    @Override
+    public boolean hasValue(String paramName) {
+        return accessors.indexOf(paramName) >= 0;
+    }
+
+    @Override
+    public Object getValue(String paramName) throws IllegalArgumentException {
+        int index = accessors.indexOf(paramName);
+        if (index < 0) {
+            throw new IllegalArgumentException("No field '" + paramName + "' in " + bean.getClass().getName());
+        }
+        return accessors.get(index, bean);
+    }
+
+    /**
+     * Gets the registered sql type of a parameter or else the one of its field type, so that nulls are bound
+     * with a type.
+     *
+     * @param paramName the param name
+     * @return the sql type
+     */
+    @Override
+    public int getSqlType(String paramName) {
+        int sqlType = super.getSqlType(paramName);
+        if (sqlType != TYPE_UNKNOWN) {
+            return sqlType;
+        }
+        int index = accessors.indexOf(paramName);
+        return index < 0 ? TYPE_UNKNOWN : accessors.sqlTypes[index];
+    }
+
+    @Override
+    public String[] getParameterNames() {
+        return accessors.names.clone();
+    }
+
+    /**
+     * Copies the fields into a new map.
+     *
+     * @return the map by field name
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new HashMap<>(accessors.names.length * 4 / 3 + 1);
+        for (int idx = 0; idx < accessors.names.length; idx++) {
+            values.put(accessors.names[idx], accessors.get(idx, bean));
+        }
+        return values;
+    }
+
+    /**
+     * The compiled field getters of one class.
+     */
+    private static final class BeanAccessors {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        private final String[] names;
+
+        private final MethodHandle[] getters;
+
+        private final int[] sqlTypes;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final Map<String, Integer> lowerCaseIndexes = new HashMap<>();
+
+        private BeanAccessors(Class<?> cls) {
+            // subclass fields shadow superclass fields of the same name
+            Map<String, Field> fields = new LinkedHashMap<>();
+            for (Class<?> type = cls; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()
+                            && AbstractDaoImpl.simpleTypes.contains(field.getType())) {
+                        fields.putIfAbsent(field.getName(), field);
+                    }
+                }
+            }
+            List<String> fieldNames = new ArrayList<>(fields.keySet());
+            this.names = fieldNames.toArray(new String[0]);
+            this.getters = new MethodHandle[names.length];
+            this.sqlTypes = new int[names.length];
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (int idx = 0; idx < names.length; idx++) {
+                Field field = fields.get(names[idx]);
+                try {
+                    field.setAccessible(true);
+                    getters[idx] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new GenericDaoException("Cannot read field '" + field.getName() + "' of "
+                            + cls.getName(), e);
+                }
+                sqlTypes[idx] = StatementCreatorUtils.javaTypeToSqlParameterType(field.getType());
+                indexes.put(names[idx], idx);
+                lowerCaseIndexes.putIfAbsent(names[idx].toLowerCase(Locale.ROOT), idx);
+            }
+        }
+
+        private int indexOf(String name) {
+            Integer index = indexes.get(name);
+            if (index == null) {
+                index = lowerCaseIndexes.get(name.toLowerCase(Locale.ROOT));
+            }
+            return index == null ? -1 : index;
+        }
+
+        private Object get(int index, Object bean) {
+            try {
+                return getters[index].invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new GenericDaoException("Cannot read field '" + names[index] + "'", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package otc.framework.generic.dao;
+
+import otc.framework.generic.dao.dto.CacheStatsDto;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A size-bounded, least-recently-used cache shared by the DAO internals, with an optional expire-after-write.
+ *
+ * <p>Lookups and insertions are guarded by the map's monitor, while values are loaded outside of it so that a
+ * slow loader (typically a JDBC metadata round trip) never blocks readers of other keys. Two threads missing on
+ * the same key may both load it; the first value stored wins. Expired entries are dropped as they are looked up
+ * and are counted as evictions.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class BoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile int maxSize;
+
+    /** The time to live of an entry, 0 for no expiry. */
+    private volatile long expireAfterWriteNanos;
+
+    BoundedCache(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    BoundedCache(int maxSize, long expireAfterWriteMillis) {
+        validateMaxSize(maxSize);
+        this.maxSize = maxSize;
+        setExpireAfterWriteMillis(expireAfterWriteMillis);
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    V get(K key) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && !isExpired(existing)) {
+                return existing.value;
+            }
+            entries.put(key, new Entry<>(loaded));
+            return loaded;
+        }
+    }
+
+    void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value));
+        }
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    void invalidateIf(Predicate<? super K> predicate) {
+        synchronized (entries) {
+            entries.keySet().removeIf(predicate);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    void setMaxSize(int maxSize) {
+        validateMaxSize(maxSize);
+        synchronized (entries) {
+            this.maxSize = maxSize;
+            Iterator<K> iterator = entries.keySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    void setExpireAfterWriteMillis(long expireAfterWriteMillis) {
+        if (expireAfterWriteMillis < 0) {
+            throw new GenericDaoValidationException("Cache expire-after-write cannot be negative !");
+        }
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMillis);
+    }
+
+    CacheStatsDto stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatsDto(hits.get(), misses.get(), evictions.get(), size, maxSize);
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        long ttl = expireAfterWriteNanos;
+        return ttl > 0 && System.nanoTime() - entry.writeNanos > ttl;
+    }
+
+    private static void validateMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new GenericDaoValidationException("Cache max-size must be at least 1 !");
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long writeNanos = System.nanoTime();
+
+        private Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package otc.framework.generic.dao;
+
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A result set held column by column, as read by {@link ColumnarResultSetExtractor}.
+ *
+ * <p>Integral columns are held as {@code long[]} and floating-point ones as {@code double[]}, each with a null
+ * bitmap allocated only once a null is read; character columns are dictionary-encoded into an {@code int[]} of
+ * codes, -1 for null - unless mostly distinct, when they are held as OBJECT strings; any other column keeps its
+ * values as read. The arrays returned are the ones held - they
+ * must not be modified.
+ */
+public final class ColumnarResult {
+
+    /**
+     * The storage of a column.
+     */
+    public enum COLUMN_KIND {LONG, DOUBLE, STRING, OBJECT}
+
+    private final List<String> columnLabels;
+
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    private final Column[] columns;
+
+    private final int rowCount;
+
+    ColumnarResult(String[] columnLabels, Column[] columns, int rowCount) {
+        this.columnLabels = Collections.unmodifiableList(Arrays.asList(columnLabels));
+        for (int idx = columnLabels.length - 1; idx >= 0; idx--) {
+            columnIndexes.put(columnLabels[idx].toLowerCase(Locale.ROOT), idx);
+        }
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Gets the row count.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the column count.
+     *
+     * @return the column count
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Gets the column labels, in select order.
+     *
+     * @return the column labels
+     */
+    public List<String> getColumnLabels() {
+        return columnLabels;
+    }
+
+    /**
+     * Gets the 0-based index of a column, by case-insensitive label.
+     *
+     * @param columnLabel the column label
+     * @return the column index
+     */
+    public int getColumnIndex(String columnLabel) {
+        Integer index = columnIndexes.get(columnLabel.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new GenericDaoValidationException("No column '" + columnLabel + "' in " + columnLabels);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the storage kind of a column.
+     *
+     * @param columnIndex the column index
+     * @return the column kind
+     */
+    public COLUMN_KIND getColumnKind(int columnIndex) {
+        return columns[columnIndex].kind;
+    }
+
+    /**
+     * Gets the values of a LONG column; a null reads as 0.
+     *
+     * @param columnIndex the column index
+     * @return the values
+     */
+    public long[] getLongs(int columnIndex) {
+        return column(columnIndex, COLUMN_KIND.LONG).longs;
+    }
+
+    /**
+     * Gets the values of a DOUBLE column; a null reads as 0.
+     *
+     * @param columnIndex the column index
+     * @return the values
+     */
+    public double[] getDoubles(int columnIndex) {
+        return column(columnIndex, COLUMN_KIND.DOUBLE).doubles;
+    }
+
+    /**
+     * Gets the dictionary codes of a STRING column - an index into {@link #getDictionary(int)}, -1 for null.
+     *
+     * @param columnIndex the column index
+     * @return the codes
+     */
+    public int[] getStringCodes(int columnIndex) {
+        return column(columnIndex, COLUMN_KIND.STRING).codes;
+    }
+
+    /**
+     * Gets the distinct values of a STRING column, in order of first appearance.
+     *
+     * @param columnIndex the column index
+     * @return the dictionary
+     */
+    public String[] getDictionary(int columnIndex) {
+        return column(columnIndex, COLUMN_KIND.STRING).dictionary;
+    }
+
+    /**
+     * Gets the values of an OBJECT column.
+     *
+     * @param columnIndex the column index
+     * @return the values
+     */
+    public Object[] getObjects(int columnIndex) {
+        return column(columnIndex, COLUMN_KIND.OBJECT).objects;
+    }
+
+    /**
+     * Tells whether a value is null.
+     *
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return true, if null
+     */
+    public boolean isNull(int rowIndex, int columnIndex) {
+        checkRowIndex(rowIndex);
+        Column column = columns[columnIndex];
+        switch (column.kind) {
+            case STRING:
+                return column.codes[rowIndex] < 0;
+            case OBJECT:
+                return column.objects[rowIndex] == null;
+            default:
+                return column.nulls != null && (column.nulls[rowIndex >>> 6] & (1L << rowIndex)) != 0;
+        }
+    }
+
+    /**
+     * Gets a value, boxed - for occasional access; read a whole column for bulk work.
+     *
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return the value, or null
+     */
+    public Object getObject(int rowIndex, int columnIndex) {
+        if (isNull(rowIndex, columnIndex)) {
+            return null;
+        }
+        Column column = columns[columnIndex];
+        switch (column.kind) {
+            case LONG:
+                return column.longs[rowIndex];
+            case DOUBLE:
+                return column.doubles[rowIndex];
+            case STRING:
+                return column.dictionary[column.codes[rowIndex]];
+            default:
+                return column.objects[rowIndex];
+        }
+    }
+
+    private Column column(int columnIndex, COLUMN_KIND kind) {
+        Column column = columns[columnIndex];
+        if (column.kind != kind) {
+            throw new GenericDaoValidationException(String.format("Column '%s' is held as %s, not %s",
+                    columnLabels.get(columnIndex), column.kind, kind));
+        }
+        return column;
+    }
+
+    private void checkRowIndex(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " of " + rowCount);
+        }
+    }
+
+    /**
+     * The values of one column; only the arrays of its kind are set.
+     */
+    static final class Column {
+
+        private final COLUMN_KIND kind;
+
+        private long[] longs;
+
+        private double[] doubles;
+
+        private int[] codes;
+
+        private String[] dictionary;
+
+        private Object[] objects;
+
+        /** One bit per row, set for null; null if the column holds no null. */
+        private long[] nulls;
+
+        private Column(COLUMN_KIND kind) {
+            this.kind = kind;
+        }
+
+        static Column ofLongs(long[] longs, long[] nulls) {
+            Column column = new Column(COLUMN_KIND.LONG);
+            column.longs = longs;
+            column.nulls = nulls;
+            return column;
+        }
+
+        static Column ofDoubles(double[] doubles, long[] nulls) {
+            Column column = new Column(COLUMN_KIND.DOUBLE);
+            column.doubles = doubles;
+            column.nulls = nulls;
+            return column;
+        }
+
+        static Column ofStrings(int[] codes, String[] dictionary) {
+            Column column = new Column(COLUMN_KIND.STRING);
+            column.codes = codes;
+            column.dictionary = dictionary;
+            return column;
+        }
+
+        static Column ofObjects(Object[] objects) {
+            Column column = new Column(COLUMN_KIND.OBJECT);
+            column.objects = objects;
+            return column;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+import otc.framework.generic.dao.ColumnarResult.Column;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a whole result set column by column into a {@link ColumnarResult}, without a per-row object.
+ *
+ * <p>The storage of each column follows its JDBC type: integral types - and exact numerics of scale 0 and at
+ * most 18 digits - go to {@code long}, approximate numerics to {@code double}, character types to dictionary
+ * codes; anything else is kept as read. A character column found to be mostly distinct - ids, free text - is
+ * kept as read too, as a dictionary would then cost more than the strings it stands for. Values are appended
+ * to fixed-size chunks, so reading never copies what it has read so far; each column is then laid out once into
+ * an array of the exact row count.
+ */
+public final class ColumnarResultSetExtractor implements ResultSetExtractor<ColumnarResult> {
+
+    /** The default number of values per chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** A character column is checked for being mostly distinct once its dictionary holds this many values. */
+    private static final int MIN_CHECKED_DICTIONARY_SIZE = 1024;
+
+    /** A character column is kept as read once more than one value in this many rows is distinct. */
+    private static final int MIN_ROWS_PER_DISTINCT_VALUE = 4;
+
+    private final int chunkSize;
+
+    /**
+     * Instantiates a new columnar result set extractor.
+     */
+    public ColumnarResultSetExtractor() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Instantiates a new columnar result set extractor.
+     *
+     * @param chunkSize the number of values per chunk
+     */
+    public ColumnarResultSetExtractor(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new GenericDaoValidationException("Chunk-size must be at least 1 !");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ColumnarResult extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        ColumnBuilder[] builders = new ColumnBuilder[columnCount];
+        for (int idx = 0; idx < columnCount; idx++) {
+            labels[idx] = JdbcUtils.lookupColumnName(metaData, idx + 1);
+            builders[idx] = createBuilder(metaData, idx + 1);
+        }
+        int rowCount = 0;
+        while (rs.next()) {
+            int chunkIndex = rowCount / chunkSize;
+            int offset = rowCount % chunkSize;
+            for (int idx = 0; idx < columnCount; idx++) {
+                builders[idx].read(rs, idx + 1, rowCount, chunkIndex, offset);
+            }
+            rowCount++;
+        }
+        Column[] columns = new Column[columnCount];
+        for (int idx = 0; idx < columnCount; idx++) {
+            columns[idx] = builders[idx].build(rowCount);
+            builders[idx] = null;
+        }
+        return new ColumnarResult(labels, columns, rowCount);
+    }
+
+    private ColumnBuilder createBuilder(ResultSetMetaData metaData, int columnIndex) throws SQLException {
+        switch (metaData.getColumnType(columnIndex)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return new LongColumnBuilder();
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                int precision = metaData.getPrecision(columnIndex);
+                if (metaData.getScale(columnIndex) == 0 && precision > 0 && precision <= MAX_LONG_DIGITS) {
+                    return new LongColumnBuilder();
+                }
+                return new ObjectColumnBuilder();
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return new DoubleColumnBuilder();
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return new StringColumnBuilder();
+            default:
+                return new ObjectColumnBuilder();
+        }
+    }
+
+    /**
+     * Appends the values of one column.
+     */
+    private abstract class ColumnBuilder {
+
+        /** One bit per row, set for null; allocated on the first null. */
+        long[] nulls;
+
+        abstract void read(ResultSet rs, int columnIndex, int row, int chunkIndex, int offset) throws SQLException;
+
+        abstract Column build(int rowCount);
+
+        void markNull(int row) {
+            int word = row >>> 6;
+            if (nulls == null) {
+                nulls = new long[Math.max(word + 1, chunkSize >>> 6)];
+            } else if (word >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, Math.max(word + 1, nulls.length * 2));
+            }
+            nulls[word] |= 1L << row;
+        }
+
+        long[] buildNulls(int rowCount) {
+            return nulls == null ? null : Arrays.copyOf(nulls, (rowCount + 63) >>> 6);
+        }
+
+        /**
+         * Lays chunks out into an array of the exact row count.
+         */
+        void concat(List<?> chunks, Object target, int rowCount) {
+            int copied = 0;
+            for (Object chunk : chunks) {
+                int length = Math.min(chunkSize, rowCount - copied);
+                System.arraycopy(chunk, 0, target, copied, length);
+                copied += length;
+            }
+        }
+    }
+
+    private final class LongColumnBuilder extends ColumnBuilder {
+
+        private final List<long[]> chunks = new ArrayList<>();
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row, int chunkIndex, int offset) throws SQLException {
+            if (offset == 0) {
+                chunks.add(new long[chunkSize]);
+            }
+            long value = rs.getLong(columnIndex);
+            if (value == 0 && rs.wasNull()) {
+                markNull(row);
+            }
+            chunks.get(chunkIndex)[offset] = value;
+        }
+
+        @Override
+        Column build(int rowCount) {
+            long[] values = new long[rowCount];
+            concat(chunks, values, rowCount);
+            return Column.ofLongs(values, buildNulls(rowCount));
+        }
+    }
+
+    private final class DoubleColumnBuilder extends ColumnBuilder {
+
+        private final List<double[]> chunks = new ArrayList<>();
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row, int chunkIndex, int offset) throws SQLException {
+            if (offset == 0) {
+                chunks.add(new double[chunkSize]);
+            }
+            double value = rs.getDouble(columnIndex);
+            if (value == 0 && rs.wasNull()) {
+                markNull(row);
+            }
+            chunks.get(chunkIndex)[offset] = value;
+        }
+
+        @Override
+        Column build(int rowCount) {
+            double[] values = new double[rowCount];
+            concat(chunks, values, rowCount);
+            return Column.ofDoubles(values, buildNulls(rowCount));
+        }
+    }
+
+    private final class StringColumnBuilder extends ColumnBuilder {
+
+        private List<int[]> chunks = new ArrayList<>();
+
+        private Map<String, Integer> codes = new HashMap<>();
+
+        private List<String> dictionary = new ArrayList<>();
+
+        /** The values as read, once the column is found to be mostly distinct; null until then. */
+        private List<Object[]> valueChunks;
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row, int chunkIndex, int offset) throws SQLException {
+            if (valueChunks != null) {
+                if (offset == 0) {
+                    valueChunks.add(new Object[chunkSize]);
+                }
+                valueChunks.get(chunkIndex)[offset] = rs.getString(columnIndex);
+                return;
+            }
+            if (offset == 0) {
+                chunks.add(new int[chunkSize]);
+            }
+            String value = rs.getString(columnIndex);
+            int code = -1;
+            if (value != null) {
+                Integer existing = codes.get(value);
+                if (existing == null) {
+                    existing = dictionary.size();
+                    codes.put(value, existing);
+                    dictionary.add(value);
+                }
+                code = existing;
+            }
+            chunks.get(chunkIndex)[offset] = code;
+            if (dictionary.size() >= MIN_CHECKED_DICTIONARY_SIZE
+                    && (long) dictionary.size() * MIN_ROWS_PER_DISTINCT_VALUE > row + 1) {
+                decode();
+            }
+        }
+
+        /**
+         * Replaces the codes read so far by their values, and drops the dictionary.
+         */
+        private void decode() {
+            valueChunks = new ArrayList<>(chunks.size());
+            for (int[] chunk : chunks) {
+                Object[] values = new Object[chunkSize];
+                for (int idx = 0; idx < chunk.length; idx++) {
+                    values[idx] = chunk[idx] < 0 ? null : dictionary.get(chunk[idx]);
+                }
+                valueChunks.add(values);
+            }
+            chunks = null;
+            codes = null;
+            dictionary = null;
+        }
+
+        @Override
+        Column build(int rowCount) {
+            if (valueChunks != null) {
+                Object[] values = new Object[rowCount];
+                concat(valueChunks, values, rowCount);
+                return Column.ofObjects(values);
+            }
+            int[] values = new int[rowCount];
+            concat(chunks, values, rowCount);
+            return Column.ofStrings(values, dictionary.toArray(new String[0]));
+        }
+    }
+
+    private final class ObjectColumnBuilder extends ColumnBuilder {
+
+        private final List<Object[]> chunks = new ArrayList<>();
+
+        @Override
+        void read(ResultSet rs, int columnIndex, int row, int chunkIndex, int offset) throws SQLException {
+            if (offset == 0) {
+                chunks.add(new Object[chunkSize]);
+            }
+            chunks.get(chunkIndex)[offset] = JdbcUtils.getResultSetValue(rs, columnIndex);
+        }
+
+        @Override
+        Column build(int rowCount) {
+            Object[] values = new Object[rowCount];
+            concat(chunks, values, rowCount);
+            return Column.ofObjects(values);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One row of a batch - a flat array of values laid out by a shared {@link RowSchema}.
+ *
+ * <p>As a {@link SqlParameterSource}, every column of the schema has a value, null if never set. Rows are not
+ * thread-safe while being filled.
+ */
+public final class CompactRow implements SqlParameterSource {
+
+    private final RowSchema schema;
+
+    private final Object[] values;
+
+    CompactRow(RowSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /**
+     * Sets the value of a column.
+     *
+     * @param columnName the column name
+     * @param value the value
+     * @return the compact row
+     */
+    public CompactRow set(String columnName, Object value) {
+        int index = schema.indexOf(columnName);
+        if (index < 0) {
+            throw new GenericDaoValidationException("No column '" + columnName + "' in row schema");
+        }
+        values[index] = value;
+        return this;
+    }
+
+    /**
+     * Sets the value of a column, by index.
+     *
+     * @param index the index
+     * @param value the value
+     * @return the compact row
+     */
+    public CompactRow set(int index, Object value) {
+        values[index] = value;
+        return this;
+    }
+
+    /**
+     * Gets the value of a column, by index.
+     *
+     * @param index the index
+     * @return the value
+     */
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Gets the schema.
+     *
+     * @return the schema
+     */
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Copies the row into a new map - for the APIs that take one.
+     *
+     * @return the map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> params = new HashMap<>(values.length * 4 / 3 + 1);
+        for (int idx = 0; idx < values.length; idx++) {
+            params.put(schema.getColumnName(idx), values[idx]);
+        }
+        return params;
+    }
+
+    @Override
+    public boolean hasValue(String paramName) {
+        return schema.indexOf(paramName) >= 0;
+    }
+
+    @Override
+    public Object getValue(String paramName) throws IllegalArgumentException {
+        int index = schema.indexOf(paramName);
+        if (index < 0) {
+            throw new IllegalArgumentException("No column '" + paramName + "' in row schema");
+        }
+        return values[index];
+    }
+
+    @Override
+    public int getSqlType(String paramName) {
+        int index = schema.indexOf(paramName);
+        return index < 0 ? TYPE_UNKNOWN : schema.getSqlType(index);
+    }
+
+    @Override
+    public String getTypeName(String paramName) {
+        return null;
+    }
+
+    @Override
+    public String[] getParameterNames() {
+        return schema.getColumnNameArray().clone();
+    }
+}
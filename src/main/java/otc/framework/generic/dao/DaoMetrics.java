@@ -0,0 +1,30 @@
+package otc.framework.generic.dao;
+
+/**
+ * Receives one record per executed dao statement - see {@link AbstractDaoImpl#setDaoMetrics(DaoMetrics)}.
+ *
+ * <p>Implementations are called on the executing thread, after the statement, and must be thread-safe.
+ */
+public interface DaoMetrics {
+
+    /**
+     * The kind of a statement.
+     */
+    enum OPERATION {QUERY, INSERT, BATCH_INSERT, UPDATE, BATCH_UPDATE, DELETE, UPSERT}
+
+    /** Records nothing - the default, under which the dao does not time statements at all. */
+    DaoMetrics NOOP = (operation, table, elapsedNanos, rowCount, batchSize, failure) -> { };
+
+    /**
+     * Records one statement.
+     *
+     * @param operation the operation
+     * @param table the table, lower-case, or "unknown"
+     * @param elapsedNanos the elapsed nanos
+     * @param rowCount the rows read or written, or -1 if unknown
+     * @param batchSize the number of parameter sets of a batch, or 0 for a single statement
+     * @param failure the failure, or null if the statement succeeded
+     */
+    void record(OPERATION operation, String table, long elapsedNanos, long rowCount, int batchSize,
+            Throwable failure);
+}
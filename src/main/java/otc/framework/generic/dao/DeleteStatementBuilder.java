@@ -2,18 +2,50 @@ package otc.framework.generic.dao;
 
 import otc.framework.generic.dao.exception.GenericDaoBuilderException;
 
+import java.util.Collection;
+import java.util.Map;
+
 public class DeleteStatementBuilder extends WhereClauseBuilder {
 
     private StringBuilder deleteStatement;
+    private StringBuilder retainedDeleteStatement;
     private enum LEVEL {TABLENAME_ADDED, WHERE_ADDED, CONDITION_ADDED}
     private LEVEL level;
 
     private DeleteStatementBuilder() {}
 
+    private static final ThreadLocal<DeleteStatementBuilder> THREAD_LOCAL_BUILDER =
+            ThreadLocal.withInitial(DeleteStatementBuilder::new);
+
     public static DeleteStatementBuilder newBuilder() {
         return new DeleteStatementBuilder();
     }
 
+    /**
+     * Gets the builder of the calling thread, reset. The builder must not be held across another call to this
+     * method on the same thread.
+     *
+     * @return the builder
+     * @see SelectQueryBuilder#threadLocalBuilder()
+     */
+    public static DeleteStatementBuilder threadLocalBuilder() {
+        return THREAD_LOCAL_BUILDER.get().reset();
+    }
+
+    /**
+     * Clears the builder for a new statement, keeping its buffers.
+     *
+     * @return the builder
+     */
+    @Override
+    public DeleteStatementBuilder reset() {
+        super.reset();
+        retainedDeleteStatement = retain(deleteStatement, retainedDeleteStatement);
+        deleteStatement = null;
+        level = null;
+        return this;
+    }
+
     public DeleteStatementBuilder from(String tableName) {
         if (null != level) {
             throw new GenericDaoBuilderException(String.format("Repeat call to 'from(%s)' is not allowed. ", tableName));
@@ -36,12 +68,13 @@ public class DeleteStatementBuilder extends WhereClauseBuilder {
         if (LEVEL.TABLENAME_ADDED == level) {
             return deleteStatement.toString();
         }
-        return deleteStatement.append(super.build()).toString();
+        appendWhereClause(deleteStatement);
+        return deleteStatement.toString();
     }
 
     private boolean initDeleteClause() {
         if (deleteStatement == null) {
-            deleteStatement = new StringBuilder(BaseDao.DELETE)
+            deleteStatement = reuse(retainedDeleteStatement, BaseDao.DELETE)
                     .append(BaseDao.FROM);
             return true;
         }
@@ -60,72 +93,84 @@ public class DeleteStatementBuilder extends WhereClauseBuilder {
     public <T> DeleteStatementBuilder equals(String columnName, T columnValue) {
         isWhereCalled();
         super.equals(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder equalsNamedCriteria(String columnName) {
         isWhereCalled();
         super.equalsNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder notEquals(String columnName, T columnValue) {
         isWhereCalled();
         super.notEquals(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder notEqualsNamedCriteria(String columnName) {
         isWhereCalled();
         super.notEqualsNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder greaterThan(String columnName, T columnValue) {
         isWhereCalled();
         super.greaterThan(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder greaterThanNamedCriteria(String columnName) {
         isWhereCalled();
         super.greaterThanNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder greaterThanEquals(String columnName, T columnValue) {
         isWhereCalled();
         super.greaterThanEquals(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder greaterThanEqualsNamedCriteria(String columnName) {
         isWhereCalled();
         super.greaterThanEqualsNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder lessThan(String columnName, T columnValue) {
         isWhereCalled();
         super.lessThan(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder lessThanNamedCriteria(String columnName) {
         isWhereCalled();
         super.lessThanNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder lessThanEquals(String columnName, T columnValue) {
         isWhereCalled();
         super.lessThanEquals(columnName, columnValue);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
     public <T> DeleteStatementBuilder lessThanEqualsNamedCriteria(String columnName) {
         isWhereCalled();
         super.lessThanEqualsNamedCriteria(columnName);
+        level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
@@ -148,10 +193,61 @@ public class DeleteStatementBuilder extends WhereClauseBuilder {
     }
 
     public <T> DeleteStatementBuilder between(String columnName, T beginValue, T endValue) {
+        isWhereCalled();
         super.between(columnName, beginValue, endValue);
+        level = LEVEL.CONDITION_ADDED;
+        return this;
+    }
+
+    /**
+     * Adds {@code column IN (...)}, one placeholder - or literal - per value. Each distinct count of values is
+     * a distinct statement to the driver, so callers deleting by many keys should keep the counts few.
+     *
+     * @param <T> the generic type
+     * @param columnName the column name
+     * @param columnValues the values
+     * @return the builder
+     * @see BaseDao#executeDeleteByKeys(String, String, String, Collection)
+     */
+    public <T> DeleteStatementBuilder in(String columnName, Collection<T> columnValues) {
+        isWhereCalled();
+        super.in(columnName, columnValues);
+        level = LEVEL.CONDITION_ADDED;
+        return this;
+    }
+
+    /**
+     * Switches the builder to {@code ?} placeholders; the values are then read with {@link #getBindValues()}.
+     * Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public DeleteStatementBuilder usePositionalParameters() {
+        setBindMode(BIND_MODE.POSITIONAL);
         return this;
     }
 
+    /**
+     * Switches the builder to {@code :gd_p1, :gd_p2 ...} placeholders; the values are then read with
+     * {@link #getNamedBindValues()}. Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public DeleteStatementBuilder useNamedParameters() {
+        setBindMode(BIND_MODE.NAMED);
+        return this;
+    }
+
+    @Override
+    public Object[] getBindValues() {
+        return super.getBindValues();
+    }
+
+    @Override
+    public Map<String, Object> getNamedBindValues() {
+        return super.getNamedBindValues();
+    }
+
     private boolean isWhereCalled() {
         if (LEVEL.WHERE_ADDED != level && LEVEL.CONDITION_ADDED != level) {
             throw new GenericDaoBuilderException(String.format("Query created not in required state for call to this method "));
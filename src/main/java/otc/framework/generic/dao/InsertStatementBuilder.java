@@ -5,17 +5,49 @@ import otc.framework.generic.dao.exception.GenericDaoBuilderException;
 public class InsertStatementBuilder extends WhereClauseBuilder {
 
     private StringBuilder insertStatement;
+    private StringBuilder retainedInsertStatement;
     private enum LEVEL {TABLENAME_ADDED, COLUMN_ADDED, VALUES_ADDED, VALUE_ADDED, WHERE_ADDED, CONDITION_ADDED,
                 SET_ADDED}
     private LEVEL level;
     private boolean hasWhereClause;
+    private int columnCount;
 
     InsertStatementBuilder() {}
 
+    private static final ThreadLocal<InsertStatementBuilder> THREAD_LOCAL_BUILDER =
+            ThreadLocal.withInitial(InsertStatementBuilder::new);
+
     public static InsertStatementBuilder newBuilder() {
         return new InsertStatementBuilder();
     }
 
+    /**
+     * Gets the builder of the calling thread, reset. The builder must not be held across another call to this
+     * method on the same thread.
+     *
+     * @return the builder
+     * @see SelectQueryBuilder#threadLocalBuilder()
+     */
+    public static InsertStatementBuilder threadLocalBuilder() {
+        return THREAD_LOCAL_BUILDER.get().reset();
+    }
+
+    /**
+     * Clears the builder for a new statement, keeping its buffers.
+     *
+     * @return the builder
+     */
+    @Override
+    public InsertStatementBuilder reset() {
+        super.reset();
+        retainedInsertStatement = retain(insertStatement, retainedInsertStatement);
+        insertStatement = null;
+        level = null;
+        hasWhereClause = false;
+        columnCount = 0;
+        return this;
+    }
+
     public InsertStatementBuilder into(String tableName) {
         if (null != level) {
             throw new GenericDaoBuilderException(String.format("Repeat call to 'deleteTable(%s)' is not allowed. ", tableName));
@@ -43,7 +75,7 @@ public class InsertStatementBuilder extends WhereClauseBuilder {
 
     private boolean initInsertClause() {
         if (insertStatement == null) {
-            insertStatement = new StringBuilder(BaseDao.INSERT_INTO);
+            insertStatement = reuse(retainedInsertStatement, BaseDao.INSERT_INTO);
             return true;
         }
         return false;
@@ -61,6 +93,7 @@ public class InsertStatementBuilder extends WhereClauseBuilder {
             insertStatement.append(BaseDao.COMMA);
         }
         insertStatement.append(columnName);
+        columnCount++;
         level = LEVEL.COLUMN_ADDED;
         return this;
     }
@@ -77,13 +110,9 @@ public class InsertStatementBuilder extends WhereClauseBuilder {
     }
 
     public InsertStatementBuilder value() {
-        if (true) {
-            throw new GenericDaoBuilderException("Not implemented.");
-        }
         if (LEVEL.VALUES_ADDED != level && LEVEL.VALUE_ADDED != level) {
             throw new GenericDaoBuilderException(String.format(
-                    "Insert statement not in required state to call value(%s). level = %s",
-                    level));
+                    "Insert statement not in required state to call value(). level = %s", level));
         }
         if (LEVEL.VALUE_ADDED == level) {
             insertStatement.append(BaseDao.COMMA);
@@ -93,6 +122,53 @@ public class InsertStatementBuilder extends WhereClauseBuilder {
         return this;
     }
 
+    /**
+     * Emits {@code rowCount} tuples of positional placeholders, one per column, for a multi-row insert -
+     * {@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?)}. Parameters are bound row after row.
+     *
+     * @param rowCount the number of rows
+     * @return the builder
+     */
+    public InsertStatementBuilder rows(int rowCount) {
+        return rows(rowCount, BaseDao.MAX_BIND_PARAMETERS);
+    }
+
+    /**
+     * Same as {@link #rows(int)}, failing when the statement would carry more than {@code maxParameters}
+     * bind parameters - the driver limit.
+     *
+     * @param rowCount the number of rows
+     * @param maxParameters the max number of bind parameters of a statement
+     * @return the builder
+     */
+    public InsertStatementBuilder rows(int rowCount, int maxParameters) {
+        if (LEVEL.VALUES_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Insert statement not in required state to call rows(%s). level = %s", rowCount, level));
+        }
+        if (rowCount < 1) {
+            throw new GenericDaoBuilderException(String.format("Invalid row count %s for call to rows(...)", rowCount));
+        }
+        if ((long) rowCount * columnCount > maxParameters) {
+            throw new GenericDaoBuilderException(String.format(
+                    "%s rows of %s columns exceed the limit of %s bind parameters", rowCount, columnCount,
+                    maxParameters));
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (row > 0) {
+                insertStatement.append(BaseDao.VALUES_SEPARATOR);
+            }
+            for (int column = 0; column < columnCount; column++) {
+                if (column > 0) {
+                    insertStatement.append(BaseDao.COMMA);
+                }
+                insertStatement.append(BaseDao.QUESTION);
+            }
+        }
+        level = LEVEL.VALUE_ADDED;
+        return this;
+    }
+
     public InsertStatementBuilder namedValue(String columnName) {
         if (LEVEL.VALUES_ADDED != level && LEVEL.VALUE_ADDED != level) {
             throw new GenericDaoBuilderException(String.format(
@@ -0,0 +1,268 @@
+package otc.framework.generic.dao;
+
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A keyset (seek) paginated query built by {@link SelectQueryBuilder#keyset(int)}, executed page by page with
+ * {@link BaseDao#executeKeysetQuery(KeysetQuery, String, org.springframework.jdbc.core.RowMapper)}.
+ *
+ * <p>Holds the first-page statement and the next-page statement, which adds the seek predicate on the key
+ * columns. The position between pages travels as an opaque, URL-safe token carrying the key values of the last
+ * row returned; the values are always bound as parameters, never pasted into the SQL. Instances are immutable
+ * and can be shared across threads.
+ */
+public final class KeysetQuery {
+
+    private static final byte TOKEN_VERSION = 1;
+
+    private final String firstPageSql;
+
+    private final String nextPageSql;
+
+    private final List<String> keyColumns;
+
+    private final String[] keyLabels;
+
+    private final int pageSize;
+
+    private final boolean isPositional;
+
+    private final Object[] bindValues;
+
+    private final Map<String, Object> namedBindValues;
+
+    private final int[] seekSlots;
+
+    KeysetQuery(String firstPageSql, String nextPageSql, List<String> orderByColumns, int pageSize,
+            boolean isPositional, Object[] bindValues, Map<String, Object> namedBindValues, int[] seekSlots) {
+        this.firstPageSql = firstPageSql;
+        this.nextPageSql = nextPageSql;
+        List<String> columns = new ArrayList<>(orderByColumns.size());
+        for (String orderByColumn : orderByColumns) {
+            columns.add(orderByColumn.endsWith(BaseDao.DESC) ?
+                    orderByColumn.substring(0, orderByColumn.length() - BaseDao.DESC.length()) : orderByColumn);
+        }
+        this.keyColumns = Collections.unmodifiableList(columns);
+        this.keyLabels = new String[columns.size()];
+        for (int idx = 0; idx < keyLabels.length; idx++) {
+            // a qualified 't.id' comes back labelled 'id'
+            String column = columns.get(idx);
+            keyLabels[idx] = column.substring(column.lastIndexOf('.') + 1);
+        }
+        this.pageSize = pageSize;
+        this.isPositional = isPositional;
+        this.bindValues = bindValues;
+        this.namedBindValues = namedBindValues;
+        this.seekSlots = seekSlots;
+    }
+
+    public String getFirstPageSql() {
+        return firstPageSql;
+    }
+
+    public String getNextPageSql() {
+        return nextPageSql;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    boolean isPositional() {
+        return isPositional;
+    }
+
+    /**
+     * Lays out the positional parameters of a page - the builder's values, then one per seek placeholder.
+     *
+     * @param keyValues the key values of the last row of the previous page, or null for the first page
+     * @return the parameter array
+     */
+    Object[] toParameters(Object[] keyValues) {
+        if (keyValues == null) {
+            return bindValues.clone();
+        }
+        Object[] params = new Object[bindValues.length + seekSlots.length];
+        System.arraycopy(bindValues, 0, params, 0, bindValues.length);
+        for (int idx = 0; idx < seekSlots.length; idx++) {
+            params[bindValues.length + idx] = keyValues[seekSlots[idx]];
+        }
+        return params;
+    }
+
+    /**
+     * Merges the named parameters of a page - the caller's values, the builder's values and the seek values.
+     *
+     * @param paramMap the caller's values, for named criteria
+     * @param keyValues the key values of the last row of the previous page, or null for the first page
+     * @return the parameter map
+     */
+    Map<String, Object> toParameterMap(Map<String, ?> paramMap, Object[] keyValues) {
+        Map<String, Object> params = new LinkedHashMap<>(paramMap);
+        params.putAll(namedBindValues);
+        if (keyValues != null) {
+            for (int idx = 0; idx < keyValues.length; idx++) {
+                params.put(BaseDao.KEYSET_PARAMETER_PREFIX + (idx + 1), keyValues[idx]);
+            }
+        }
+        return params;
+    }
+
+    Object[] readKeyValues(ResultSet rs) throws SQLException {
+        Object[] keyValues = new Object[keyLabels.length];
+        for (int idx = 0; idx < keyLabels.length; idx++) {
+            keyValues[idx] = rs.getObject(keyLabels[idx]);
+        }
+        return keyValues;
+    }
+
+    String encodeToken(Object[] keyValues) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TOKEN_VERSION);
+            out.writeByte(keyValues.length);
+            for (int idx = 0; idx < keyValues.length; idx++) {
+                writeKeyValue(out, keyColumns.get(idx), keyValues[idx]);
+            }
+        } catch (IOException e) {
+            throw new GenericDaoValidationException("Unable to encode keyset token", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    Object[] decodeToken(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != TOKEN_VERSION || in.readByte() != keyColumns.size()) {
+                throw new GenericDaoValidationException("Keyset token does not belong to this query");
+            }
+            Object[] keyValues = new Object[keyColumns.size()];
+            for (int idx = 0; idx < keyValues.length; idx++) {
+                keyValues[idx] = readKeyValue(in);
+            }
+            if (in.available() > 0) {
+                throw new GenericDaoValidationException("Invalid keyset token");
+            }
+            return keyValues;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new GenericDaoValidationException("Invalid keyset token", e);
+        }
+    }
+
+    private static void writeKeyValue(DataOutputStream out, String keyColumn, Object value) throws IOException {
+        if (value == null) {
+            throw new GenericDaoValidationException(String.format(
+                    "Keyset column '%s' holds a null - keyset columns must be non-null", keyColumn));
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte('I');
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte('D');
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte('B');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Timestamp) {
+            out.writeByte('T');
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte('d');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            out.writeByte('L');
+            out.writeLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte('l');
+            out.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+            out.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+        } else if (value instanceof OffsetDateTime) {
+            out.writeByte('O');
+            out.writeLong(((OffsetDateTime) value).toEpochSecond());
+            out.writeInt(((OffsetDateTime) value).getNano());
+            out.writeInt(((OffsetDateTime) value).getOffset().getTotalSeconds());
+        } else if (value instanceof UUID) {
+            out.writeByte('U');
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            throw new GenericDaoValidationException(String.format(
+                    "Keyset column '%s' of type %s cannot be carried in a token", keyColumn,
+                    value.getClass().getName()));
+        }
+    }
+
+    private static Object readKeyValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case 'S':
+                return in.readUTF();
+            case 'I':
+                return in.readInt();
+            case 'J':
+                return in.readLong();
+            case 'D':
+                return in.readDouble();
+            case 'B':
+                return new BigDecimal(in.readUTF());
+            case 'T':
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case 'd':
+                return new Date(in.readLong());
+            case 'L':
+                return LocalDate.ofEpochDay(in.readLong());
+            case 'l':
+                return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+            case 'O':
+                long epochSecond = in.readLong();
+                int nanos = in.readInt();
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(in.readInt());
+                return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), offset);
+            case 'U':
+                return new UUID(in.readLong(), in.readLong());
+            default:
+                throw new GenericDaoValidationException("Invalid keyset token");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return nextPageSql;
+    }
+}
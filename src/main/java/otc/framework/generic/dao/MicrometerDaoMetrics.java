@@ -0,0 +1,118 @@
+package otc.framework.generic.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes dao statements to a Micrometer {@link MeterRegistry}, tagged by operation and table:
+ *
+ * <ul>
+ * <li>{@code generic.dao.statement} - a timer with a percentile histogram, also tagged by outcome</li>
+ * <li>{@code generic.dao.statement.rows} - the rows read or written, where known</li>
+ * <li>{@code generic.dao.statement.batch.size} - the parameter sets per batch</li>
+ * <li>{@code generic.dao.statement.errors} - the failures, also tagged by exception</li>
+ * </ul>
+ *
+ * <p>Micrometer is an optional dependency of generic-dao - this class is only loaded once instantiated.
+ */
+public final class MicrometerDaoMetrics implements DaoMetrics {
+
+    /** The name of the statement timer; the other meters add a suffix to it. */
+    public static final String METER_NAME = "generic.dao.statement";
+
+    private final MeterRegistry registry;
+
+    /** The meters by operation, then table - filled in the constructor, so read without locking. */
+    private final Map<OPERATION, Map<String, Meters>> meters = new EnumMap<>(OPERATION.class);
+
+    /**
+     * Instantiates a new micrometer dao metrics.
+     *
+     * @param registry the registry
+     */
+    public MicrometerDaoMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (OPERATION operation : OPERATION.values()) {
+            meters.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void record(OPERATION operation, String table, long elapsedNanos, long rowCount, int batchSize,
+            Throwable failure) {
+        Meters tableMeters = meters.get(operation).computeIfAbsent(table, key -> new Meters(operation, table));
+        if (failure == null) {
+            tableMeters.successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        } else {
+            createTimer(operation, table, "error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+            Counter.builder(METER_NAME + ".errors")
+                    .tag("operation", operation.name())
+                    .tag("table", table)
+                    .tag("exception", failure.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+        }
+        if (rowCount >= 0) {
+            tableMeters.rows.record(rowCount);
+        }
+        if (batchSize > 0) {
+            tableMeters.getBatchSize().record(batchSize);
+        }
+    }
+
+    private Timer createTimer(OPERATION operation, String table, String outcome) {
+        return Timer.builder(METER_NAME)
+                .tag("operation", operation.name())
+                .tag("table", table)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary createSummary(String suffix, OPERATION operation, String table) {
+        return DistributionSummary.builder(METER_NAME + suffix)
+                .tag("operation", operation.name())
+                .tag("table", table)
+                .register(registry);
+    }
+
+    /**
+     * The meters of one operation on one table; the rarer ones - errors, batch sizes - are only registered once
+     * used, the registry returning the same meter to racing threads.
+     */
+    private final class Meters {
+
+        private final OPERATION operation;
+
+        private final String table;
+
+        private final Timer successTimer;
+
+        private final DistributionSummary rows;
+
+        private volatile DistributionSummary batchSize;
+
+        private Meters(OPERATION operation, String table) {
+            this.operation = operation;
+            this.table = table;
+            this.successTimer = createTimer(operation, table, "success");
+            this.rows = createSummary(".rows", operation, table);
+        }
+
+        private DistributionSummary getBatchSize() {
+            DistributionSummary summary = batchSize;
+            if (summary == null) {
+                summary = createSummary(".batch.size", operation, table);
+                batchSize = summary;
+            }
+            return summary;
+        }
+    }
+}
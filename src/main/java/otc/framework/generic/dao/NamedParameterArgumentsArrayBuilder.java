@@ -1,15 +1,25 @@
 package otc.framework.generic.dao;
 
+import otc.framework.generic.dao.exception.GenericDaoException;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class NamedParameterArgumentsArrayBuilder {
 
-    private List<Map<String, Object>> paramsList;
+    private static final int INITIAL_ROW_CAPACITY = 8;
+
+    /** The names of all sets, in order of first use - shared by the rows, not repeated per row. */
+    private final List<String> names = new ArrayList<>();
+
+    private final Map<String, Integer> nameIndexes = new HashMap<>();
 
-    private NamedParameterArgumentsBuilder namedParameterArgumentsBuilder;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private Object[] currentRow;
 
     private NamedParameterArgumentsArrayBuilder() {
 
@@ -31,10 +41,24 @@ public class NamedParameterArgumentsArrayBuilder {
      * @param <T>
      */
     public <T> NamedParameterArgumentsArrayBuilder addNameAndValue(String name, T value) {
-        if (namedParameterArgumentsBuilder == null) {
-            namedParameterArgumentsBuilder = NamedParameterArgumentsBuilder.newBuilder();
+        if (name == null || name.trim().equals("")) {
+            throw new GenericDaoException("Column-name cannot be null or empty !");
+        }
+        if (value == null) {
+            throw new GenericDaoException("Column-data cannot be null !");
         }
-        namedParameterArgumentsBuilder.addNameAndValue(name, value);
+        Integer index = nameIndexes.get(name);
+        if (index == null) {
+            index = names.size();
+            names.add(name);
+            nameIndexes.put(name, index);
+        }
+        if (currentRow == null) {
+            currentRow = newRow();
+        } else if (index >= currentRow.length) {
+            currentRow = Arrays.copyOf(currentRow, Math.max(index + 1, currentRow.length * 2));
+        }
+        currentRow[index] = value;
         return this;
     }
 
@@ -43,15 +67,10 @@ public class NamedParameterArgumentsArrayBuilder {
      * @return
      */
     public NamedParameterArgumentsArrayBuilder newSet() {
-        if (namedParameterArgumentsBuilder == null) {
-            namedParameterArgumentsBuilder = NamedParameterArgumentsBuilder.newBuilder();
-            return this;
-        }
-        if (paramsList == null) {
-            paramsList =  new ArrayList<>();
+        if (currentRow != null) {
+            rows.add(currentRow);
         }
-        paramsList.add(namedParameterArgumentsBuilder.build());
-        namedParameterArgumentsBuilder = NamedParameterArgumentsBuilder.newBuilder();
+        currentRow = newRow();
         return this;
     }
 
@@ -60,11 +79,51 @@ public class NamedParameterArgumentsArrayBuilder {
      * @return
      */
     public Map<String, Object>[] build() {
-        if (paramsList == null) {
-            paramsList =  new ArrayList<>();
+        closeCurrentRow();
+        Map<String, Object>[] paramsArr = new HashMap[rows.size()];
+        for (int rowIdx = 0; rowIdx < paramsArr.length; rowIdx++) {
+            Object[] row = rows.get(rowIdx);
+            Map<String, Object> params = new HashMap<>();
+            for (int idx = 0; idx < row.length && idx < names.size(); idx++) {
+                if (row[idx] != null) {
+                    params.put(names.get(idx), row[idx]);
+                }
+            }
+            paramsArr[rowIdx] = params;
+        }
+        return paramsArr;
+    }
+
+    /**
+     * Builds the sets as compact rows sharing one schema of every name used; a name not added to a set is null
+     * in its row.
+     *
+     * @return the rows
+     */
+    public CompactRow[] buildRows() {
+        closeCurrentRow();
+        RowSchema schema = RowSchema.of(names);
+        int columnCount = names.size();
+        CompactRow[] compactRows = new CompactRow[rows.size()];
+        for (int rowIdx = 0; rowIdx < compactRows.length; rowIdx++) {
+            Object[] row = rows.get(rowIdx);
+            compactRows[rowIdx] = schema.row(row.length == columnCount ? row : Arrays.copyOf(row, columnCount));
         }
-        this.paramsList.add(this.namedParameterArgumentsBuilder.build());
-        return paramsList.toArray(new HashMap[paramsList.size()]);
+        return compactRows;
+    }
+
+    /**
+     * Sizes the first set for names still to come, and later sets to the names of the sets before - so most rows
+     * fit the schema and {@link #buildRows()} need not copy them.
+     */
+    private Object[] newRow() {
+        return new Object[rows.isEmpty() ? Math.max(INITIAL_ROW_CAPACITY, names.size()) : names.size()];
     }
 
+    private void closeCurrentRow() {
+        if (currentRow != null) {
+            rows.add(currentRow);
+            currentRow = null;
+        }
+    }
 }
@@ -0,0 +1,480 @@
+package otc.framework.generic.dao;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import otc.framework.generic.dao.dto.TableColumnDto;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Loads rows into a PostgreSQL table with {@code COPY ... FROM STDIN}, streamed through the driver's
+ * {@link org.postgresql.copy.CopyManager} in buffered writes - one statement, with no per-row bind or round trip.
+ *
+ * <p>CSV sends every value as text, parsed by the server to the column type. BINARY sends the server's own wire
+ * forms and skips that parsing; it needs the column types from the table meta-data and takes the integer, float,
+ * numeric, boolean, character, json, bytea, uuid, date and timestamp types - a column of any other type is
+ * rejected before a row is sent.
+ *
+ * <p>The PostgreSQL driver is an optional dependency of generic-dao - this class is only loaded once the driver is
+ * known to be present.
+ */
+final class PostgresCopyLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresCopyLoader.class);
+
+    /** The bytes buffered before a write to the server. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The signature, flags and header extension length of the binary format. */
+    private static final byte[] BINARY_HEADER = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0, 0, 0, 0, 0};
+
+    /** The binary date and timestamp forms count from 2000-01-01. */
+    private static final long POSTGRES_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+
+    private static final long POSTGRES_EPOCH_SECOND = POSTGRES_EPOCH_DAY * 86400;
+
+    private final RowSchema rowSchema;
+
+    private final String copySql;
+
+    /** The binary writer of each column, or null for CSV. */
+    private final ValueWriter[] writers;
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Instantiates a new loader.
+     *
+     * @param qualifiedTable the table, schema-qualified if needed
+     * @param rowSchema the row schema
+     * @param columns the table columns keyed by lower-case name, for the binary format; null for CSV
+     */
+    PostgresCopyLoader(String qualifiedTable, RowSchema rowSchema, Map<String, TableColumnDto> columns) {
+        if (rowSchema.getColumnCount() == 0) {
+            throw new GenericDaoValidationException("Cannot copy rows of no columns !");
+        }
+        this.rowSchema = rowSchema;
+        this.copySql = "COPY " + qualifiedTable + " (" + String.join(", ", rowSchema.getColumnNames())
+                + ") FROM STDIN WITH (FORMAT " + (columns == null ? "csv" : "binary") + ")";
+        if (columns == null) {
+            this.writers = null;
+            return;
+        }
+        this.writers = new ValueWriter[rowSchema.getColumnCount()];
+        for (int idx = 0; idx < writers.length; idx++) {
+            String columnName = rowSchema.getColumnName(idx);
+            TableColumnDto column = columns.get(columnName.toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new GenericDaoValidationException("No column '" + columnName + "' in table " + qualifiedTable);
+            }
+            writers[idx] = createWriter(column.getTypeName());
+            if (writers[idx] == null) {
+                throw new GenericDaoValidationException(String.format(
+                        "Column '%s' of type %s cannot be copied in binary format - use COPY_CSV !", columnName,
+                        column.getTypeName()));
+            }
+        }
+    }
+
+    /**
+     * Tells whether the connection is one of the PostgreSQL driver, possibly behind a pool's proxy.
+     *
+     * @param connection the connection
+     * @return true, if the connection can copy
+     * @throws SQLException the SQL exception
+     */
+    static boolean isCopySupported(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Gets the copy sql.
+     *
+     * @return the copy sql
+     */
+    String getCopySql() {
+        return copySql;
+    }
+
+    /**
+     * Copies the rows in - read one at a time, and sent every {@link #BUFFER_SIZE} bytes. The copy is atomic: if
+     * it fails, no row is inserted.
+     *
+     * @param connection the connection
+     * @param rows the rows, all of the row schema
+     * @return the number of rows inserted
+     * @throws SQLException the SQL exception
+     */
+    long load(Connection connection, Iterator<CompactRow> rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        try {
+            CopyBuffer buffer = new CopyBuffer();
+            if (writers != null) {
+                buffer.write(BINARY_HEADER, 0, BINARY_HEADER.length);
+            }
+            while (rows.hasNext()) {
+                CompactRow row = rows.next();
+                if (row.getSchema() != rowSchema) {
+                    throw new GenericDaoValidationException("Rows of a copy must all be of the same row schema !");
+                }
+                if (writers == null) {
+                    writeCsvRow(buffer, row);
+                } else {
+                    writeBinaryRow(buffer, row);
+                }
+                if (buffer.size() >= BUFFER_SIZE) {
+                    buffer.flushTo(copyIn);
+                }
+            }
+            if (writers != null) {
+                buffer.int2(-1);
+            }
+            buffer.flushTo(copyIn);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException e) {
+                    LOGGER.warn("Could not cancel copy - {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void writeCsvRow(CopyBuffer buffer, CompactRow row) {
+        line.setLength(0);
+        for (int idx = 0; idx < rowSchema.getColumnCount(); idx++) {
+            if (idx > 0) {
+                line.append(',');
+            }
+            appendCsvValue(line, row.get(idx));
+        }
+        line.append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Appends a value - nothing for null, numbers and booleans as they are, the rest quoted so an empty string
+     * stays apart from null.
+     */
+    static void appendCsvValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal) {
+            line.append(((BigDecimal) value).toPlainString());
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+            return;
+        }
+        String text;
+        if (value instanceof byte[]) {
+            text = toHex((byte[]) value);
+        } else if (value.getClass() == java.util.Date.class) {
+            text = new Timestamp(((java.util.Date) value).getTime()).toString();
+        } else {
+            text = value.toString();
+        }
+        line.append('"');
+        for (int idx = 0; idx < text.length(); idx++) {
+            char ch = text.charAt(idx);
+            if (ch == '"') {
+                line.append('"');
+            }
+            line.append(ch);
+        }
+        line.append('"');
+    }
+
+    private void writeBinaryRow(CopyBuffer buffer, CompactRow row) {
+        buffer.int2(writers.length);
+        for (int idx = 0; idx < writers.length; idx++) {
+            Object value = row.get(idx);
+            if (value == null) {
+                buffer.int4(-1);
+                continue;
+            }
+            try {
+                writers[idx].write(buffer, value);
+            } catch (ClassCastException | ArithmeticException | IllegalArgumentException e) {
+                throw new GenericDaoValidationException(String.format("Cannot copy %s into column '%s' - %s",
+                        value.getClass().getName(), rowSchema.getColumnName(idx), e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Creates the binary writer of a column type.
+     *
+     * @param typeName the type name, as reported by the driver
+     * @return the writer, or null if the type is not supported
+     */
+    private static ValueWriter createWriter(String typeName) {
+        switch (typeName.toLowerCase(Locale.ROOT)) {
+        case "int2":
+        case "smallserial":
+            return (buffer, value) -> {
+                buffer.int4(2);
+                buffer.int2((int) toLong(value, Short.MIN_VALUE, Short.MAX_VALUE));
+            };
+        case "int4":
+        case "serial":
+            return (buffer, value) -> {
+                buffer.int4(4);
+                buffer.int4((int) toLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            };
+        case "int8":
+        case "bigserial":
+            return (buffer, value) -> {
+                buffer.int4(8);
+                buffer.int8(toLong(value, Long.MIN_VALUE, Long.MAX_VALUE));
+            };
+        case "float4":
+            return (buffer, value) -> {
+                buffer.int4(4);
+                buffer.int4(Float.floatToIntBits(((Number) value).floatValue()));
+            };
+        case "float8":
+            return (buffer, value) -> {
+                buffer.int4(8);
+                buffer.int8(Double.doubleToLongBits(((Number) value).doubleValue()));
+            };
+        case "numeric":
+            return (buffer, value) -> writeNumeric(buffer, toBigDecimal(value));
+        case "bool":
+            return (buffer, value) -> {
+                buffer.int4(1);
+                buffer.write(((Boolean) value) ? 1 : 0);
+            };
+        case "text":
+        case "varchar":
+        case "bpchar":
+        case "name":
+        case "json":
+            return (buffer, value) -> buffer.bytes(value.toString().getBytes(StandardCharsets.UTF_8));
+        case "jsonb":
+            return (buffer, value) -> {
+                byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                // the jsonb binary form is a version byte, then the text
+                buffer.int4(bytes.length + 1);
+                buffer.write(1);
+                buffer.write(bytes, 0, bytes.length);
+            };
+        case "bytea":
+            return (buffer, value) -> buffer.bytes((byte[]) value);
+        case "uuid":
+            return (buffer, value) -> {
+                UUID uuid = value instanceof UUID ? (UUID) value : UUID.fromString(value.toString());
+                buffer.int4(16);
+                buffer.int8(uuid.getMostSignificantBits());
+                buffer.int8(uuid.getLeastSignificantBits());
+            };
+        case "date":
+            return (buffer, value) -> {
+                LocalDate date = value instanceof java.sql.Date ? ((java.sql.Date) value).toLocalDate()
+                        : (LocalDate) value;
+                buffer.int4(4);
+                buffer.int4(Math.toIntExact(date.toEpochDay() - POSTGRES_EPOCH_DAY));
+            };
+        case "timestamp":
+            return (buffer, value) -> {
+                buffer.int4(8);
+                buffer.int8(toMicros(toLocalDateTime(value).toInstant(ZoneOffset.UTC)));
+            };
+        case "timestamptz":
+            return (buffer, value) -> {
+                buffer.int4(8);
+                buffer.int8(toMicros(toInstant(value)));
+            };
+        default:
+            return null;
+        }
+    }
+
+    private static long toLong(Object value, long min, long max) {
+        long longValue;
+        if (value instanceof BigDecimal) {
+            longValue = ((BigDecimal) value).longValueExact();
+        } else if (value instanceof BigInteger) {
+            longValue = ((BigInteger) value).longValueExact();
+        } else {
+            longValue = ((Number) value).longValue();
+        }
+        if (longValue < min || longValue > max) {
+            throw new ArithmeticException("value " + longValue + " out of range");
+        }
+        return longValue;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    /**
+     * Writes a numeric - base-10000 digits, with the weight of the first, a sign and the display scale.
+     */
+    static void writeNumeric(CopyBuffer buffer, BigDecimal value) {
+        BigDecimal abs = value.abs();
+        int displayScale = Math.max(abs.scale(), 0);
+        String plain = abs.setScale(displayScale).toPlainString();
+        int point = plain.indexOf('.');
+        String integerPart = point < 0 ? plain : plain.substring(0, point);
+        String fractionPart = point < 0 ? "" : plain.substring(point + 1);
+        int integerGroups = (integerPart.length() + 3) / 4;
+        StringBuilder digitText = new StringBuilder();
+        for (int idx = integerPart.length(); idx < integerGroups * 4; idx++) {
+            digitText.append('0');
+        }
+        digitText.append(integerPart).append(fractionPart);
+        while (digitText.length() % 4 != 0) {
+            digitText.append('0');
+        }
+        int[] digits = new int[digitText.length() / 4];
+        for (int idx = 0; idx < digits.length; idx++) {
+            digits[idx] = Integer.parseInt(digitText.substring(idx * 4, idx * 4 + 4));
+        }
+        int weight = integerGroups - 1;
+        int first = 0;
+        int last = digits.length;
+        while (first < last && digits[first] == 0) {
+            first++;
+            weight--;
+        }
+        while (last > first && digits[last - 1] == 0) {
+            last--;
+        }
+        if (first == last) {
+            weight = 0;
+        }
+        buffer.int4(8 + 2 * (last - first));
+        buffer.int2(last - first);
+        buffer.int2(weight);
+        buffer.int2(value.signum() < 0 ? 0x4000 : 0);
+        buffer.int2(displayScale);
+        for (int idx = first; idx < last; idx++) {
+            buffer.int2(digits[idx]);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return new Timestamp(((java.util.Date) value).getTime()).toLocalDateTime();
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant) {
+            return (Instant) value;
+        }
+        if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        }
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant();
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toInstant();
+        }
+        return ((java.util.Date) value).toInstant();
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond() - POSTGRES_EPOCH_SECOND, 1000000L),
+                instant.getNano() / 1000);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(2 + bytes.length * 2).append("\\x");
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Writes one non-null value in binary form - its length, then its bytes.
+     */
+    @FunctionalInterface
+    private interface ValueWriter {
+
+        void write(CopyBuffer buffer, Object value);
+    }
+
+    /**
+     * The bytes not yet sent, written big-endian as the binary format wants.
+     */
+    static final class CopyBuffer extends ByteArrayOutputStream {
+
+        CopyBuffer() {
+            super(BUFFER_SIZE + 1024);
+        }
+
+        private void int2(int value) {
+            write(value >>> 8);
+            write(value);
+        }
+
+        private void int4(int value) {
+            int2(value >>> 16);
+            int2(value);
+        }
+
+        private void int8(long value) {
+            int4((int) (value >>> 32));
+            int4((int) value);
+        }
+
+        private void bytes(byte[] value) {
+            int4(value.length);
+            write(value, 0, value.length);
+        }
+
+        private void flushTo(CopyIn copyIn) throws SQLException {
+            if (count > 0) {
+                copyIn.writeToCopy(buf, 0, count);
+                reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import otc.framework.generic.dao.dto.CacheStatsDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches query results read only from opted-in tables, keyed by sql text, bind values and mapper, and drops them
+ * once the dao writes to one of those tables.
+ *
+ * <p>The tables of a query are those after FROM and JOIN, comma joins included; a query naming any table not
+ * opted in, or none that can be found, is never cached. Nor is one mentioning an opted-in table anywhere else -
+ * a table the parse missed would never invalidate it. Tables are compared lower-case and without schema.
+ * Writes made elsewhere - another dao, another process - are only seen once an entry expires, so the ttl bounds
+ * how stale a result can be.
+ *
+ * <p>A write names its table, or else its target is read off the statement - the table of an INSERT, UPDATE,
+ * DELETE, MERGE or TRUNCATE, data-modifying WITH clauses included. A statement whose target cannot be told -
+ * DDL, a call, several statements - drops every result.
+ *
+ * <p>Inside a transaction results are read from the cache but not added to it, and a write invalidates again
+ * once the transaction completes - a result read between a write and its commit or rollback is never kept.
+ * Results are shared between callers: lists are returned unmodifiable and rows must not be modified.
+ *
+ * <p>A result is keyed by its mapper too: a required type by itself, a mapper of a stateless kind by what it
+ * maps, any other row mapper by identity. A result set extractor may keep state or act on the rows, so the
+ * queries of an extractor are not cached.
+ */
+final class QueryResultCache {
+
+    private static final Object NULL_RESULT = new Object();
+
+    private static final int SQL_TABLES_CACHE_SIZE = 1024;
+
+    private static final String TABLE_NAME = "([\\w.$\"`\\[\\]]+)";
+
+    /** Whitespace and comments. */
+    private static final String BLANK = "(?:\\s|/\\*(?:[^*]|\\*(?!/))*\\*/|--[^\\n]*)+";
+
+    private static final Pattern TABLE_PATTERN = Pattern.compile("\\b(?:FROM|JOIN)" + BLANK + TABLE_NAME,
+            Pattern.CASE_INSENSITIVE);
+
+    /** A comma join continuing a FROM list - an optional alias, then the next table. */
+    private static final Pattern NEXT_TABLE_PATTERN = Pattern.compile(
+            "(?:\\s+(?:AS\\s+)?(?!WHERE\\b|JOIN\\b|ON\\b|GROUP\\b|ORDER\\b)\\w+)?\\s*,\\s*" + TABLE_NAME,
+            Pattern.CASE_INSENSITIVE);
+
+    /** The start of a WITH clause. */
+    private static final Pattern WITH_PATTERN = Pattern.compile("WITH\\s+(?:RECURSIVE\\s+)?",
+            Pattern.CASE_INSENSITIVE);
+
+    /** A common table expression up to the parenthesis opening its body. */
+    private static final Pattern CTE_PATTERN = Pattern.compile(
+            "[\\w\"`\\[\\]]+\\s*(?:\\([^()]*\\)\\s*)?AS\\s*(?:NOT\\s+)?(?:MATERIALIZED\\s*)?\\(",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WRITE_VERB_PATTERN = Pattern.compile("(?:INSERT|UPDATE|DELETE|MERGE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /** The verbs writing one table, up to its name. Oracle's multi-table INSERT ALL and INSERT FIRST excluded. */
+    private static final Pattern WRITE_TARGET_PATTERN = Pattern.compile("(?:"
+            + "(INSERT)\\s+(?:IGNORE\\s+)?(?:INTO\\s+)?(?!(?:ALL|FIRST)\\b)"
+            + "|(REPLACE)\\s+(?:INTO\\s+)?"
+            + "|(UPSERT|MERGE)\\s+INTO\\s+"
+            + "|(UPDATE)\\s+(?:ONLY\\s+)?"
+            + "|(DELETE)\\s+(FROM\\s+)?(?:ONLY\\s+)?)" + TABLE_NAME,
+            Pattern.CASE_INSENSITIVE);
+
+    /** What follows the table of a single-table UPDATE - an optional alias, then SET. */
+    private static final Pattern UPDATE_SET_PATTERN = Pattern.compile("\\s+(?:(?:AS\\s+)?\\w+\\s+)?SET\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    /** What follows the table of a MySQL multi-table DELETE, FROM left out - {@code DELETE t1 FROM t1 JOIN ...}. */
+    private static final Pattern DELETE_FROM_PATTERN = Pattern.compile("\\s+FROM\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern TRUNCATE_PATTERN = Pattern.compile("TRUNCATE\\s+(?:TABLE\\s+)?(?:ONLY\\s+)?",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile(TABLE_NAME);
+
+    private static final Pattern WORD_PATTERN = Pattern.compile("[\\w$]+");
+
+    private final BoundedCache<ResultKey, Object> results;
+
+    /** The tables read by a query; empty if it is not cached. Depends on the opted-in tables. */
+    private final BoundedCache<String, Set<String>> sqlTables = new BoundedCache<>(SQL_TABLES_CACHE_SIZE);
+
+    /** The tables written by a statement; empty if they cannot be told. */
+    private final BoundedCache<String, Set<String>> sqlWrittenTables = new BoundedCache<>(SQL_TABLES_CACHE_SIZE);
+
+    private final Set<String> cacheableTables = ConcurrentHashMap.newKeySet();
+
+    /** Bumped by every invalidation; a result read while it moved may predate a write and is not stored. */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    private volatile boolean enabled;
+
+    QueryResultCache(int maxSize, long ttlMillis) {
+        this.results = new BoundedCache<>(maxSize, ttlMillis);
+    }
+
+    /**
+     * Tells whether any table is opted in.
+     *
+     * @return true, if enabled
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setCacheableTables(Collection<String> tables) {
+        Set<String> normalized = new HashSet<>();
+        for (String table : tables) {
+            normalized.add(normalize(table));
+        }
+        cacheableTables.retainAll(normalized);
+        cacheableTables.addAll(normalized);
+        enabled = !cacheableTables.isEmpty();
+        sqlTables.invalidateAll();
+        invalidateAll();
+    }
+
+    void setMaxSize(int maxSize) {
+        results.setMaxSize(maxSize);
+    }
+
+    void setTtlMillis(long ttlMillis) {
+        results.setExpireAfterWriteMillis(ttlMillis);
+    }
+
+    CacheStatsDto stats() {
+        return results.stats();
+    }
+
+    /**
+     * Gets a query result from the cache, or runs the query - and caches its result, if every table it reads is
+     * opted in.
+     *
+     * @param <T> the generic type
+     * @param sql the sql
+     * @param table the one table read, if known, else null to read the tables off the sql
+     * @param params the bind values - an array, a map or null
+     * @param mapper the row mapper, result set extractor or required type
+     * @param query the query
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String sql, String table, Object params, Object mapper, Supplier<T> query) {
+        Set<String> tables = table != null ? Collections.singleton(normalize(table))
+                : sqlTables.computeIfAbsent(sql, this::readTables);
+        if (tables.isEmpty() || !cacheableTables.containsAll(tables)) {
+            return query.get();
+        }
+        Object mapperKey = mapperKey(mapper);
+        if (mapperKey == null) {
+            return query.get();
+        }
+        ResultKey key = new ResultKey(sql, params, mapperKey, tables);
+        Object cached = results.get(key);
+        if (cached != null) {
+            return cached == NULL_RESULT ? null : (T) cached;
+        }
+        long invalidations = invalidationCount.get();
+        T result = query.get();
+        if (result instanceof List) {
+            result = (T) Collections.unmodifiableList((List<?>) result);
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            synchronized (this) {
+                if (invalidationCount.get() == invalidations) {
+                    results.put(key, result == null ? NULL_RESULT : result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the results read from a written table - now, and again once the current transaction completes.
+     *
+     * @param table the table, or null to read it off the sql
+     * @param sql the sql, or null
+     */
+    void invalidate(String table, String sql) {
+        Set<String> tableNames = table != null ? Collections.singleton(normalize(table))
+                : sql == null ? Collections.emptySet()
+                : sqlWrittenTables.computeIfAbsent(sql, QueryResultCache::extractWrittenTables);
+        if (!tableNames.isEmpty() && Collections.disjoint(tableNames, cacheableTables)) {
+            return;
+        }
+        invalidateTables(tableNames);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateTables(tableNames);
+                }
+            });
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (this) {
+            invalidationCount.incrementAndGet();
+            results.invalidateAll();
+        }
+    }
+
+    /**
+     * Drops the results read from any of the tables, or every result if no table is given.
+     *
+     * @param tableNames the normalized table names
+     */
+    private void invalidateTables(Set<String> tableNames) {
+        synchronized (this) {
+            invalidationCount.incrementAndGet();
+            if (tableNames.isEmpty()) {
+                results.invalidateAll();
+            } else {
+                results.invalidateIf(key -> !Collections.disjoint(key.tables, tableNames));
+            }
+        }
+    }
+
+    /**
+     * Keys the mapper of a result - see the class comment.
+     *
+     * @param mapper the row mapper, result set extractor or required type
+     * @return the key, or null if results mapped by it are not cached
+     */
+    private static Object mapperKey(Object mapper) {
+        if (mapper instanceof Class) {
+            return mapper;
+        }
+        if (mapper instanceof DtoRowMapper) {
+            return Arrays.asList(DtoRowMapper.class, ((DtoRowMapper<?>) mapper).getMappedClass());
+        }
+        if (mapper != null && mapper.getClass() == BeanPropertyRowMapper.class) {
+            BeanPropertyRowMapper<?> beanMapper = (BeanPropertyRowMapper<?>) mapper;
+            return Arrays.asList(BeanPropertyRowMapper.class, beanMapper.getMappedClass(),
+                    beanMapper.isCheckFullyPopulated(), beanMapper.isPrimitivesDefaultedForNullValue());
+        }
+        if (mapper != null && mapper.getClass() == ColumnMapRowMapper.class) {
+            return ColumnMapRowMapper.class;
+        }
+        if (mapper instanceof ResultSetExtractor) {
+            return null;
+        }
+        return mapper;
+    }
+
+    /**
+     * Reads the tables of a query, or none if it mentions an opted-in table elsewhere than where they were read.
+     *
+     * @param sql the sql
+     * @return the tables, or an empty set
+     */
+    private Set<String> readTables(String sql) {
+        Set<String> tables = extractTables(sql);
+        return mentionsOtherTable(sql, tables, cacheableTables) ? Collections.emptySet() : tables;
+    }
+
+    /**
+     * Checks if any word of the sql is one of the candidate tables, but not one of the tables read off it.
+     *
+     * @param sql the sql
+     * @param tables the normalized tables read off the sql
+     * @param candidates the normalized candidate tables
+     * @return true, if another candidate is mentioned
+     */
+    static boolean mentionsOtherTable(String sql, Set<String> tables, Set<String> candidates) {
+        Matcher matcher = WORD_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            String word = matcher.group().toLowerCase(Locale.ROOT);
+            if (candidates.contains(word) && !tables.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the tables of a query - the names after FROM and JOIN, and those comma-joined to them.
+     *
+     * @param sql the sql
+     * @return the tables
+     */
+    static Set<String> extractTables(String sql) {
+        Set<String> tables = new HashSet<>();
+        Matcher matcher = TABLE_PATTERN.matcher(sql);
+        Matcher nextMatcher = NEXT_TABLE_PATTERN.matcher(sql);
+        int from = 0;
+        while (from < sql.length() && matcher.find(from)) {
+            tables.add(normalize(matcher.group(1)));
+            int end = matcher.end();
+            nextMatcher.region(end, sql.length());
+            while (nextMatcher.lookingAt()) {
+                tables.add(normalize(nextMatcher.group(1)));
+                end = nextMatcher.end();
+                nextMatcher.region(end, sql.length());
+            }
+            from = end;
+        }
+        tables.remove("");
+        return tables;
+    }
+
+    /**
+     * Reads the tables a statement writes - the target of its verb, and of each data-modifying WITH clause.
+     *
+     * @param sql the sql
+     * @return the normalized tables, or an empty set if they cannot be told
+     */
+    static Set<String> extractWrittenTables(String sql) {
+        Set<String> tables = new HashSet<>();
+        int end = findStatementEnd(sql);
+        if (end < 0 || !addWrittenTables(sql, 0, end, tables)) {
+            return Collections.emptySet();
+        }
+        return tables;
+    }
+
+    private static boolean addWrittenTables(String sql, int from, int to, Set<String> tables) {
+        int pos = skipBlank(sql, from, to);
+        Matcher withMatcher = WITH_PATTERN.matcher(sql).region(pos, to);
+        if (withMatcher.lookingAt()) {
+            pos = withMatcher.end();
+            while (true) {
+                Matcher cteMatcher = CTE_PATTERN.matcher(sql).region(pos, to);
+                if (!cteMatcher.lookingAt()) {
+                    return false;
+                }
+                int bodyEnd = findClosingParenthesis(sql, cteMatcher.end(), to);
+                if (bodyEnd < 0) {
+                    return false;
+                }
+                int bodyStart = skipBlank(sql, cteMatcher.end(), bodyEnd);
+                if (WRITE_VERB_PATTERN.matcher(sql).region(bodyStart, bodyEnd).lookingAt()
+                        && !addWrittenTables(sql, bodyStart, bodyEnd, tables)) {
+                    return false;
+                }
+                pos = skipBlank(sql, bodyEnd + 1, to);
+                if (pos >= to || sql.charAt(pos) != ',') {
+                    break;
+                }
+                pos = skipBlank(sql, pos + 1, to);
+            }
+        }
+        Matcher truncateMatcher = TRUNCATE_PATTERN.matcher(sql).region(pos, to);
+        if (truncateMatcher.lookingAt()) {
+            Matcher nameMatcher = TABLE_NAME_PATTERN.matcher(sql);
+            pos = truncateMatcher.end();
+            while (nameMatcher.region(pos, to).lookingAt()) {
+                if (isQuoteOpen(nameMatcher.group(1))) {
+                    return false;
+                }
+                tables.add(normalize(nameMatcher.group(1)));
+                pos = skipBlank(sql, nameMatcher.end(), to);
+                if (pos >= to || sql.charAt(pos) != ',') {
+                    return true;
+                }
+                pos = skipBlank(sql, pos + 1, to);
+            }
+            return false;
+        }
+        Matcher targetMatcher = WRITE_TARGET_PATTERN.matcher(sql).region(pos, to);
+        if (!targetMatcher.lookingAt()) {
+            return false;
+        }
+        int end = targetMatcher.end();
+        if (targetMatcher.group(4) != null && !UPDATE_SET_PATTERN.matcher(sql).region(end, to).lookingAt()) {
+            // UPDATE a JOIN b / UPDATE a, b - several tables
+            return false;
+        }
+        if (targetMatcher.group(5) != null) {
+            // DELETE t1, t2 FROM ... / DELETE t1 FROM t1 JOIN ... - the names may be aliases
+            int next = skipBlank(sql, end, to);
+            if (next < to && sql.charAt(next) == ','
+                    || targetMatcher.group(6) == null && DELETE_FROM_PATTERN.matcher(sql).region(end, to).lookingAt()) {
+                return false;
+            }
+        }
+        if (isQuoteOpen(targetMatcher.group(7))) {
+            // "my table" - a quoted name with a blank ends early
+            return false;
+        }
+        tables.add(normalize(targetMatcher.group(7)));
+        return true;
+    }
+
+    private static boolean isQuoteOpen(String name) {
+        int quotes = 0;
+        int brackets = 0;
+        for (int idx = 0; idx < name.length(); idx++) {
+            char ch = name.charAt(idx);
+            if (ch == '"' || ch == '`') {
+                quotes++;
+            } else if (ch == '[') {
+                brackets++;
+            } else if (ch == ']') {
+                brackets--;
+            }
+        }
+        return quotes % 2 != 0 || brackets != 0;
+    }
+
+    /**
+     * Finds the end of the first statement - the end of the sql, or a semicolon followed by blanks only.
+     *
+     * @return the end, or -1 if another statement follows
+     */
+    private static int findStatementEnd(String sql) {
+        int pos = 0;
+        while (pos < sql.length()) {
+            char ch = sql.charAt(pos);
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                pos = skipQuoted(sql, pos, sql.length());
+            } else if (ch == ';') {
+                return skipBlank(sql, pos + 1, sql.length()) == sql.length() ? pos : -1;
+            } else {
+                pos++;
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * Finds the parenthesis closing the one just before {@code from}, skipping nested and quoted ones.
+     *
+     * @return its index, or -1 if there is none
+     */
+    private static int findClosingParenthesis(String sql, int from, int to) {
+        int depth = 1;
+        int pos = from;
+        while (pos < to) {
+            char ch = sql.charAt(pos);
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                pos = skipQuoted(sql, pos, to);
+                continue;
+            }
+            if (ch == '(') {
+                depth++;
+            } else if (ch == ')' && --depth == 0) {
+                return pos;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    /** Skips a quoted literal or identifier; a doubled quote is part of it. */
+    private static int skipQuoted(String sql, int from, int to) {
+        char quote = sql.charAt(from);
+        int pos = from + 1;
+        while (pos < to) {
+            if (sql.charAt(pos++) == quote) {
+                if (pos < to && sql.charAt(pos) == quote) {
+                    pos++;
+                } else {
+                    return pos;
+                }
+            }
+        }
+        return to;
+    }
+
+    /** Skips whitespace and comments. */
+    private static int skipBlank(String sql, int from, int to) {
+        int pos = from;
+        while (pos < to) {
+            if (Character.isWhitespace(sql.charAt(pos))) {
+                pos++;
+            } else if (sql.startsWith("--", pos)) {
+                int lineEnd = sql.indexOf('\n', pos);
+                pos = lineEnd < 0 || lineEnd > to ? to : lineEnd + 1;
+            } else if (sql.startsWith("/*", pos)) {
+                int commentEnd = sql.indexOf("*/", pos + 2);
+                pos = commentEnd < 0 || commentEnd + 2 > to ? to : commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        return pos;
+    }
+
+    private static String normalize(String table) {
+        String name = table.replaceAll("[\"`\\[\\]]", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The key of a result - sql, bind values and mapper key; the tables it was read from are carried along for
+     * invalidation, not compared.
+     */
+    private static final class ResultKey {
+
+        private final String sql;
+
+        private final Object params;
+
+        private final Object mapper;
+
+        private final Set<String> tables;
+
+        private final int hash;
+
+        private ResultKey(String sql, Object params, Object mapper, Set<String> tables) {
+            this.sql = sql;
+            this.params = params instanceof Object[] ? ((Object[]) params).clone()
+                    : params instanceof Map ? new HashMap<>((Map<?, ?>) params) : params;
+            this.mapper = mapper;
+            this.tables = tables;
+            int paramsHash = this.params instanceof Object[] ? Arrays.deepHashCode((Object[]) this.params)
+                    : Objects.hashCode(this.params);
+            this.hash = (sql.hashCode() * 31 + paramsHash) * 31 + Objects.hashCode(this.mapper);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey other = (ResultKey) obj;
+            return hash == other.hash && sql.equals(other.sql) && Objects.equals(mapper, other.mapper)
+                    && Objects.deepEquals(params, other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A query compiled once from a {@link SelectQueryBuilder} and executed many times with new bind values.
+ *
+ * <p>Holds the SQL text, its positional ({@code ?}) form, the name of every parameter slot and the parsed
+ * named-parameter form, so nothing is rebuilt or re-parsed per execution. Instances are immutable and can be
+ * kept in a static field and shared across threads. Collection values are not expanded into IN-lists - a
+ * template always has the same number of slots.
+ */
+public final class QueryTemplate {
+
+    private final String sql;
+
+    private final String jdbcSql;
+
+    private final String tableName;
+
+    private final ParsedSql parsedSql;
+
+    private final List<String> parameterNames;
+
+    private final Object[] bindValues;
+
+    QueryTemplate(String sql, String tableName, List<String> bindColumns, Object[] bindValues) {
+        this.sql = sql;
+        this.tableName = tableName;
+        this.parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        this.jdbcSql = NamedParameterUtils.substituteNamedParameters(parsedSql, new MapSqlParameterSource());
+        Object[] namedSlots = NamedParameterUtils.buildValueArray(parsedSql, new AbstractSqlParameterSource() {
+            @Override
+            public boolean hasValue(String paramName) {
+                return true;
+            }
+
+            @Override
+            public Object getValue(String paramName) {
+                return paramName;
+            }
+        }, null);
+        // a positional statement yields one null slot per '?'
+        if (namedSlots.length > 0 && namedSlots[0] != null) {
+            this.parameterNames = Collections.unmodifiableList(Arrays.asList(
+                    Arrays.copyOf(namedSlots, namedSlots.length, String[].class)));
+        } else {
+            this.parameterNames = Collections.unmodifiableList(new ArrayList<>(bindColumns));
+        }
+        this.bindValues = bindValues;
+    }
+
+    /**
+     * Gets the sql as built - with named placeholders, if any.
+     *
+     * @return the sql
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Gets the sql with every placeholder turned into {@code ?}, ready for a prepared statement.
+     *
+     * @return the jdbc sql
+     */
+    public String getJdbcSql() {
+        return jdbcSql;
+    }
+
+    /**
+     * Gets the table the query reads, as given to the builder.
+     *
+     * @return the table name
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    ParsedSql getParsedSql() {
+        return parsedSql;
+    }
+
+    /**
+     * Gets the name of each parameter slot, in slot order - the parameter name for named placeholders, the
+     * compared column for positional ones.
+     *
+     * @return the parameter names
+     */
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Gets the number of parameter slots.
+     *
+     * @return the parameter count
+     */
+    public int getParameterCount() {
+        return parameterNames.size();
+    }
+
+    /**
+     * Gets a copy of the values the builder was given, to execute the template as it was built.
+     *
+     * @return the bind values
+     */
+    public Object[] getBindValues() {
+        return bindValues.clone();
+    }
+
+    /**
+     * Lays out named values in slot order, for execution against {@link #getJdbcSql()}.
+     *
+     * @param values the values by parameter name
+     * @return the parameter array
+     */
+    public Object[] toParameters(Map<String, ?> values) {
+        Object[] params = new Object[parameterNames.size()];
+        for (int idx = 0; idx < params.length; idx++) {
+            String parameterName = parameterNames.get(idx);
+            if (!values.containsKey(parameterName)) {
+                throw new GenericDaoValidationException("No value supplied for parameter '" + parameterName + "'");
+            }
+            params[idx] = values.get(parameterName);
+        }
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
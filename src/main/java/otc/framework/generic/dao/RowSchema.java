@@ -0,0 +1,170 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.SqlTypeValue;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The column names shared by a batch of {@link CompactRow}s - held once, with their index, instead of once per
+ * row as the keys of a map.
+ *
+ * <p>Names resolve exactly, then case-insensitively. A schema is immutable and thread-safe.
+ */
+public final class RowSchema {
+
+    private final String[] columnNames;
+
+    private final int[] sqlTypes;
+
+    private final Map<String, Integer> indexes;
+
+    private final Map<String, Integer> lowerCaseIndexes;
+
+    private RowSchema(String[] columnNames, int[] sqlTypes) {
+        this.columnNames = columnNames;
+        this.sqlTypes = sqlTypes;
+        this.indexes = new HashMap<>(columnNames.length * 4 / 3 + 1);
+        this.lowerCaseIndexes = new HashMap<>(columnNames.length * 4 / 3 + 1);
+        for (int idx = 0; idx < columnNames.length; idx++) {
+            String columnName = columnNames[idx];
+            if (columnName == null || columnName.trim().isEmpty()) {
+                throw new GenericDaoValidationException("Column-name cannot be null or empty !");
+            }
+            if (indexes.put(columnName, idx) != null) {
+                throw new GenericDaoValidationException("Duplicate column '" + columnName + "' in row schema");
+            }
+            lowerCaseIndexes.putIfAbsent(columnName.toLowerCase(Locale.ROOT), idx);
+        }
+    }
+
+    /**
+     * Creates a schema of untyped columns.
+     *
+     * @param columnNames the column names
+     * @return the row schema
+     */
+    public static RowSchema of(String... columnNames) {
+        int[] sqlTypes = new int[columnNames.length];
+        Arrays.fill(sqlTypes, SqlTypeValue.TYPE_UNKNOWN);
+        return new RowSchema(columnNames.clone(), sqlTypes);
+    }
+
+    /**
+     * Creates a schema of untyped columns.
+     *
+     * @param columnNames the column names
+     * @return the row schema
+     */
+    public static RowSchema of(Collection<String> columnNames) {
+        return of(columnNames.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a copy of this schema with the sql type of a column set, so its nulls are bound with a type.
+     *
+     * @param columnName the column name
+     * @param sqlType the sql type, see {@link java.sql.Types}
+     * @return the row schema
+     */
+    public RowSchema withSqlType(String columnName, int sqlType) {
+        int index = indexOf(columnName);
+        if (index < 0) {
+            throw new GenericDaoValidationException("No column '" + columnName + "' in row schema");
+        }
+        int[] types = sqlTypes.clone();
+        types[index] = sqlType;
+        return new RowSchema(columnNames, types);
+    }
+
+    /**
+     * Creates an empty row of this schema.
+     *
+     * @return the compact row
+     */
+    public CompactRow newRow() {
+        return new CompactRow(this, new Object[columnNames.length]);
+    }
+
+    /**
+     * Creates a row of this schema from values in column order; the array is held, not copied.
+     *
+     * @param values the values
+     * @return the compact row
+     */
+    public CompactRow row(Object... values) {
+        if (values.length != columnNames.length) {
+            throw new GenericDaoValidationException(String.format("Row of %s values for a schema of %s columns",
+                    values.length, columnNames.length));
+        }
+        return new CompactRow(this, values);
+    }
+
+    /**
+     * Creates a row of this schema from a map; columns missing from the map are null.
+     *
+     * @param params the params
+     * @return the compact row
+     */
+    public CompactRow row(Map<String, ?> params) {
+        Object[] values = new Object[columnNames.length];
+        for (Map.Entry<String, ?> entry : params.entrySet()) {
+            int index = indexOf(entry.getKey());
+            if (index < 0) {
+                throw new GenericDaoValidationException("No column '" + entry.getKey() + "' in row schema");
+            }
+            values[index] = entry.getValue();
+        }
+        return new CompactRow(this, values);
+    }
+
+    /**
+     * Gets the index of a column, or -1.
+     *
+     * @param columnName the column name
+     * @return the index
+     */
+    public int indexOf(String columnName) {
+        Integer index = indexes.get(columnName);
+        if (index == null) {
+            index = lowerCaseIndexes.get(columnName.toLowerCase(Locale.ROOT));
+        }
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the column names.
+     *
+     * @return the column names
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * Gets the column count.
+     *
+     * @return the column count
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    String getColumnName(int index) {
+        return columnNames[index];
+    }
+
+    String[] getColumnNameArray() {
+        return columnNames;
+    }
+
+    int getSqlType(int index) {
+        return sqlTypes[index];
+    }
+}
@@ -1,6 +1,14 @@
 package otc.framework.generic.dao;
 
+import otc.framework.generic.dao.dialect.SqlDialect;
+import otc.framework.generic.dao.dialect.SqlDialectFactory;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
 import otc.framework.generic.dao.exception.GenericDaoBuilderException;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -12,19 +20,61 @@ import otc.framework.generic.dao.exception.GenericDaoBuilderException;
  */
 public class SelectQueryBuilder extends WhereClauseBuilder {
 
-    private enum LEVEL {COLUMN_ADDED, FROM_ADDED, WHERE_ADDED, CONDITION_ADDED}
+    private enum LEVEL {COLUMN_ADDED, FROM_ADDED, WHERE_ADDED, CONDITION_ADDED, ORDER_BY_ADDED, LIMIT_ADDED}
 
     private LEVEL level;
     private StringBuilder selectClause;
+    private StringBuilder retainedSelectClause;
+    private String tableName;
+    private SqlDialect sqlDialect = SqlDialectFactory.getGenericDialect();
+    private List<String> orderByColumns;
+    private int descendingCount;
+    private int limit;
 
     private SelectQueryBuilder() {
         super();
     }
 
+    private static final ThreadLocal<SelectQueryBuilder> THREAD_LOCAL_BUILDER =
+            ThreadLocal.withInitial(SelectQueryBuilder::new);
+
     public static SelectQueryBuilder newBuilder() {
         return new SelectQueryBuilder();
     }
 
+    /**
+     * Gets the builder of the calling thread, reset - its buffers are reused from one query to the next, so a
+     * request thread builds queries without allocating builders. The builder must not be held across another
+     * call to this method on the same thread.
+     *
+     * @return the builder
+     */
+    public static SelectQueryBuilder threadLocalBuilder() {
+        return THREAD_LOCAL_BUILDER.get().reset();
+    }
+
+    /**
+     * Clears the builder for a new query, keeping its buffers. Whatever was read from it before - the built
+     * sql, bind values, templates - stays valid.
+     *
+     * @return the builder
+     */
+    @Override
+    public SelectQueryBuilder reset() {
+        super.reset();
+        retainedSelectClause = retain(selectClause, retainedSelectClause);
+        selectClause = null;
+        tableName = null;
+        level = null;
+        sqlDialect = SqlDialectFactory.getGenericDialect();
+        if (orderByColumns != null) {
+            orderByColumns.clear();
+        }
+        descendingCount = 0;
+        limit = 0;
+        return this;
+    }
+
     public SelectQueryBuilder column(String columnName) {
         Utility.validate(columnName);
         if (initSelectClause()) {
@@ -44,10 +94,55 @@ public class SelectQueryBuilder extends WhereClauseBuilder {
         Utility.validateTableName(tableName);
         selectClause.append(BaseDao.FROM)
                 .append(tableName);
+        this.tableName = tableName;
         level = LEVEL.FROM_ADDED;
         return this;
     }
 
+    /**
+     * Sets the dialect the row-limiting and keyset clauses are rendered for. Without one, the ANSI
+     * {@code FETCH FIRST n ROWS ONLY} and row-value comparisons are used.
+     *
+     * @param dialect the dialect
+     * @return the builder
+     */
+    public SelectQueryBuilder dialect(DIALECT dialect) {
+        this.sqlDialect = SqlDialectFactory.getDialect(dialect);
+        return this;
+    }
+
+    /**
+     * Sets the dialect - typically the one the dao detected, see {@link BaseDao#getDialect()}.
+     *
+     * @param sqlDialect the sql dialect
+     * @return the builder
+     */
+    public SelectQueryBuilder dialect(SqlDialect sqlDialect) {
+        this.sqlDialect = sqlDialect;
+        return this;
+    }
+
+    public SelectQueryBuilder orderBy(String columnName) {
+        addOrderBy(columnName, false);
+        return this;
+    }
+
+    public SelectQueryBuilder orderByDescending(String columnName) {
+        addOrderBy(columnName, true);
+        return this;
+    }
+
+    public SelectQueryBuilder limit(int rowCount) {
+        if (LEVEL.FROM_ADDED != level && LEVEL.CONDITION_ADDED != level && LEVEL.ORDER_BY_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format("Call to 'limit(%d)' not in the right sequence. " +
+                    "level = %s", rowCount, level));
+        }
+        validateRowCount(rowCount);
+        this.limit = rowCount;
+        level = LEVEL.LIMIT_ADDED;
+        return this;
+    }
+
     public String build() {
         if (selectClause == null) {
             throw new GenericDaoBuilderException(String.format("Insert statement nothing to build(). level = %s", level));
@@ -55,17 +150,75 @@ public class SelectQueryBuilder extends WhereClauseBuilder {
         if (LEVEL.COLUMN_ADDED == level || LEVEL.WHERE_ADDED == level) {
             throw new GenericDaoBuilderException(String.format("Query not created in required state for call to build(). level = %s", level));
         }
-        if (LEVEL.FROM_ADDED == level) {
-            return selectClause.toString();
+        boolean hasWhereClause = appendWhereClause(selectClause);
+        appendOrderByAndLimit(selectClause, limit);
+        if (hasWhereClause) {
+            selectClause.append(BaseDao.SEMI_COLON);
         }
-        return selectClause.append(super.build())
-                .append(BaseDao.SEMI_COLON)
-                .toString();
+        return selectClause.toString();
+    }
+
+    /**
+     * Builds the query for keyset (seek) pagination - every page is read with an index range scan that starts
+     * right after the last row of the previous page, so deep pages cost the same as the first, unlike OFFSET.
+     *
+     * <p>The order-by columns are the key: they must be selected, be non-null and, taken together, be unique -
+     * end them with the primary key. They must all sort the same direction. The next page is filtered with
+     * {@code (k1, k2) > (:gd_k1, :gd_k2)}, or with the equivalent OR-expansion on Oracle and SQL Server which lack
+     * row-value comparisons.
+     *
+     * @param pageSize the page size
+     * @return the keyset query
+     */
+    public KeysetQuery keyset(int pageSize) {
+        if (selectClause == null || LEVEL.ORDER_BY_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format("Call to 'keyset(%d)' not in the right sequence. " +
+                    "Call orderBy(...) last. level = %s", pageSize, level));
+        }
+        if (descendingCount != 0 && descendingCount != orderByColumns.size()) {
+            throw new GenericDaoBuilderException("Keyset order-by columns must all sort in the same direction");
+        }
+        validateRowCount(pageSize);
+        boolean isPositional = BIND_MODE.POSITIONAL == getBindMode();
+        List<Integer> seekSlots = new ArrayList<>();
+        String seekPredicate = createSeekPredicate(isPositional, seekSlots);
+        String whereClause = super.build();
+        StringBuilder firstPageSql = new StringBuilder(selectClause);
+        StringBuilder nextPageSql = new StringBuilder(selectClause);
+        nextPageSql.append(TOKENS.WHERE);
+        if (whereClause != null) {
+            firstPageSql.append(whereClause);
+            nextPageSql.append('(')
+                    .append(whereClause.substring(TOKENS.WHERE.toString().length()))
+                    .append(')')
+                    .append(LOGICAL_OPERATORS.AND.getOperator());
+        }
+        nextPageSql.append(seekPredicate);
+        // one row more than the page tells whether a next page exists
+        appendOrderByAndLimit(firstPageSql, pageSize + 1);
+        appendOrderByAndLimit(nextPageSql, pageSize + 1);
+        int[] slots = new int[seekSlots.size()];
+        for (int idx = 0; idx < slots.length; idx++) {
+            slots[idx] = seekSlots.get(idx);
+        }
+        return new KeysetQuery(firstPageSql.toString(), nextPageSql.toString(), orderByColumns, pageSize,
+                isPositional, getBindValues(), getNamedBindValues(), slots);
+    }
+
+    /**
+     * Builds the query and compiles it into an immutable, thread-safe {@link QueryTemplate}, to be executed
+     * many times with new bind values. Like {@link #build()}, this consumes the builder.
+     *
+     * @return the query template
+     */
+    public QueryTemplate compile() {
+        String sql = build();
+        return new QueryTemplate(sql, tableName, getBindColumns(), getBindValues());
     }
 
     private boolean initSelectClause() {
         if (selectClause == null) {
-            selectClause = new StringBuilder(BaseDao.SELECT);
+            selectClause = reuse(retainedSelectClause, BaseDao.SELECT);
             return true;
         }
         return false;
@@ -182,10 +335,151 @@ public class SelectQueryBuilder extends WhereClauseBuilder {
     }
 
     public <T> SelectQueryBuilder between(String columnName, T beginValue, T endValue) {
+        isWhereCalled("between(...)");
         super.between(columnName, beginValue, endValue);
+        this.level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
+    /**
+     * Switches the builder to {@code ?} placeholders; the values are then read with {@link #getBindValues()}.
+     * Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public SelectQueryBuilder usePositionalParameters() {
+        setBindMode(BIND_MODE.POSITIONAL);
+        return this;
+    }
+
+    /**
+     * Switches the builder to {@code :gd_p1, :gd_p2 ...} placeholders; the values are then read with
+     * {@link #getNamedBindValues()}. Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public SelectQueryBuilder useNamedParameters() {
+        setBindMode(BIND_MODE.NAMED);
+        return this;
+    }
+
+    @Override
+    public Object[] getBindValues() {
+        return super.getBindValues();
+    }
+
+    @Override
+    public Map<String, Object> getNamedBindValues() {
+        return super.getNamedBindValues();
+    }
+
+    private void addOrderBy(String columnName, boolean isDescending) {
+        if (LEVEL.FROM_ADDED != level && LEVEL.CONDITION_ADDED != level && LEVEL.ORDER_BY_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format("Call to 'orderBy(%s)' not in the right sequence. " +
+                    "level = %s", columnName, level));
+        }
+        Utility.validate(columnName);
+        if (orderByColumns == null) {
+            orderByColumns = new ArrayList<>();
+        }
+        orderByColumns.add(isDescending ? columnName + BaseDao.DESC : columnName);
+        if (isDescending) {
+            descendingCount++;
+        }
+        level = LEVEL.ORDER_BY_ADDED;
+    }
+
+    private void appendOrderByAndLimit(StringBuilder statement, int rowCount) {
+        boolean hasOrderBy = orderByColumns != null && !orderByColumns.isEmpty();
+        if (rowCount != 0 && !hasOrderBy && sqlDialect.requiresOrderByForLimit()) {
+            throw new GenericDaoBuilderException(String.format("Call to 'limit(%d)' needs an orderBy(...) on %s",
+                    rowCount, sqlDialect.getDialect()));
+        }
+        if (hasOrderBy) {
+            statement.append(BaseDao.ORDER_BY);
+            for (int idx = 0; idx < orderByColumns.size(); idx++) {
+                if (idx > 0) {
+                    statement.append(BaseDao.COMMA);
+                }
+                statement.append(orderByColumns.get(idx));
+            }
+        }
+        if (rowCount == 0) {
+            return;
+        }
+        sqlDialect.appendLimit(statement, rowCount);
+    }
+
+    private String createSeekPredicate(boolean isPositional, List<Integer> seekSlots) {
+        String comparison = descendingCount == 0 ? TOKENS.GREATER_THAN.toString() : TOKENS.LESS_THAN.toString();
+        int keyCount = orderByColumns.size();
+        StringBuilder predicate = new StringBuilder();
+        if (keyCount == 1) {
+            predicate.append(getKeyColumn(0)).append(comparison);
+            appendSeekParameter(predicate, 0, isPositional, seekSlots);
+        } else if (!sqlDialect.supportsRowValueComparison()) {
+            // (k1 > :gd_k1 OR (k1 = :gd_k1 AND k2 > :gd_k2) OR ...)
+            predicate.append('(');
+            for (int keyIdx = 0; keyIdx < keyCount; keyIdx++) {
+                if (keyIdx > 0) {
+                    predicate.append(LOGICAL_OPERATORS.OR.getOperator()).append('(');
+                }
+                for (int eqIdx = 0; eqIdx < keyIdx; eqIdx++) {
+                    predicate.append(getKeyColumn(eqIdx)).append(TOKENS.EQUALS);
+                    appendSeekParameter(predicate, eqIdx, isPositional, seekSlots);
+                    predicate.append(LOGICAL_OPERATORS.AND.getOperator());
+                }
+                predicate.append(getKeyColumn(keyIdx)).append(comparison);
+                appendSeekParameter(predicate, keyIdx, isPositional, seekSlots);
+                if (keyIdx > 0) {
+                    predicate.append(')');
+                }
+            }
+            predicate.append(')');
+        } else {
+            predicate.append('(');
+            for (int keyIdx = 0; keyIdx < keyCount; keyIdx++) {
+                if (keyIdx > 0) {
+                    predicate.append(BaseDao.COMMA);
+                }
+                predicate.append(getKeyColumn(keyIdx));
+            }
+            predicate.append(')').append(comparison).append('(');
+            for (int keyIdx = 0; keyIdx < keyCount; keyIdx++) {
+                if (keyIdx > 0) {
+                    predicate.append(BaseDao.COMMA);
+                }
+                appendSeekParameter(predicate, keyIdx, isPositional, seekSlots);
+            }
+            predicate.append(')');
+        }
+        return predicate.toString();
+    }
+
+    private String getKeyColumn(int keyIdx) {
+        String orderByColumn = orderByColumns.get(keyIdx);
+        return orderByColumn.endsWith(BaseDao.DESC) ?
+                orderByColumn.substring(0, orderByColumn.length() - BaseDao.DESC.length()) : orderByColumn;
+    }
+
+    private void appendSeekParameter(StringBuilder predicate, int keyIdx, boolean isPositional,
+            List<Integer> seekSlots) {
+        if (isPositional) {
+            predicate.append(BaseDao.QUESTION);
+            seekSlots.add(keyIdx);
+        } else {
+            predicate.append(BaseDao.COLON)
+                    .append(BaseDao.KEYSET_PARAMETER_PREFIX)
+                    .append(keyIdx + 1);
+        }
+    }
+
+    private static void validateRowCount(int rowCount) {
+        if (rowCount < 1) {
+            throw new GenericDaoValidationException("Row count must be at least 1 !");
+        }
+    }
+
     private boolean isWhereCalled(String methodName) {
         if (LEVEL.WHERE_ADDED != level && LEVEL.CONDITION_ADDED != level) {
             throw new GenericDaoBuilderException(String.format("Query created not in required state for call '%s' ",
@@ -0,0 +1,201 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import otc.framework.generic.dao.dialect.SqlDialect;
+import otc.framework.generic.dao.dto.SequenceStatsDto;
+import otc.framework.generic.dao.exception.GenericDaoException;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hands out sequence values from blocks reserved in one round trip (hi/lo), instead of one round trip per value.
+ *
+ * <p>Each sequence keeps its current block behind an atomic reference and a cursor, so taking a value is a
+ * single compare-and-set; only the thread that finds the block exhausted goes to the database, while the others
+ * wait for the new block. Values reserved but not handed out before shutdown are lost - expect gaps, as with
+ * any cached sequence.
+ */
+public final class SequenceAllocator {
+
+    /**
+     * How a block is reserved. INCREMENT_BY reads the sequence once and takes the block starting at that
+     * value - the sequence must be created with {@code INCREMENT BY} the block size. MULTI_FETCH reads the
+     * block size worth of values in one query, and works with any sequence.
+     */
+    public enum ALLOCATION_STRATEGY {INCREMENT_BY, MULTI_FETCH}
+
+    private final Supplier<JdbcTemplate> jdbcTemplateSupplier;
+
+    private final Supplier<SqlDialect> dialectSupplier;
+
+    private final ConcurrentMap<String, PooledSequence> sequences = new ConcurrentHashMap<>();
+
+    SequenceAllocator(Supplier<JdbcTemplate> jdbcTemplateSupplier, Supplier<SqlDialect> dialectSupplier) {
+        this.jdbcTemplateSupplier = jdbcTemplateSupplier;
+        this.dialectSupplier = dialectSupplier;
+    }
+
+    /**
+     * Configures a sequence; values left in its current block are dropped.
+     *
+     * @param sequenceName the sequence name
+     * @param blockSize the number of values reserved per round trip
+     * @param strategy the strategy
+     */
+    public void configure(String sequenceName, int blockSize, ALLOCATION_STRATEGY strategy) {
+        Utility.validateSequenceName(sequenceName);
+        if (blockSize < 1 || strategy == null) {
+            throw new GenericDaoValidationException("Sequence block-size must be at least 1, with a strategy !");
+        }
+        sequences.put(sequenceName, new PooledSequence(sequenceName, blockSize, strategy));
+    }
+
+    /**
+     * Takes the next value of a sequence; a sequence not configured uses MULTI_FETCH blocks of
+     * {@link BaseDao#DEFAULT_SEQUENCE_BLOCK_SIZE}.
+     *
+     * @param sequenceName the sequence name
+     * @return the value
+     */
+    public long next(String sequenceName) {
+        PooledSequence sequence = sequences.get(sequenceName);
+        if (sequence == null) {
+            Utility.validateSequenceName(sequenceName);
+            sequence = sequences.computeIfAbsent(sequenceName, name -> new PooledSequence(name,
+                    BaseDao.DEFAULT_SEQUENCE_BLOCK_SIZE, ALLOCATION_STRATEGY.MULTI_FETCH));
+        }
+        return sequence.next();
+    }
+
+    /**
+     * Gets the stats of every sequence used so far.
+     *
+     * @return the stats by sequence name
+     */
+    public Map<String, SequenceStatsDto> getStats() {
+        Map<String, SequenceStatsDto> stats = new TreeMap<>();
+        for (PooledSequence sequence : sequences.values()) {
+            stats.put(sequence.name, sequence.stats());
+        }
+        return stats;
+    }
+
+    private final class PooledSequence {
+
+        private final String name;
+
+        private final int blockSize;
+
+        private final ALLOCATION_STRATEGY strategy;
+
+        private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, null, 0));
+
+        private final LongAdder allocatedCount = new LongAdder();
+
+        private final AtomicLong refillCount = new AtomicLong();
+
+        private final AtomicLong refillNanos = new AtomicLong();
+
+        private volatile String sql;
+
+        private PooledSequence(String name, int blockSize, ALLOCATION_STRATEGY strategy) {
+            this.name = name;
+            this.blockSize = blockSize;
+            this.strategy = strategy;
+        }
+
+        private long next() {
+            while (true) {
+                Block current = block.get();
+                int index = current.cursor.getAndIncrement();
+                if (index >= 0 && index < current.size) {
+                    allocatedCount.increment();
+                    return current.valueAt(index);
+                }
+                synchronized (this) {
+                    if (block.get() == current) {
+                        try {
+                            block.set(reserveBlock());
+                        } catch (RuntimeException e) {
+                            // a fresh empty block, so the cursor of the exhausted one stops climbing while refills fail
+                            block.set(new Block(0, null, 0));
+                            throw e;
+                        }
+                    }
+                }
+            }
+        }
+
+        private Block reserveBlock() {
+            SqlDialect dialect = dialectSupplier.get();
+            if (!dialect.supportsSequences()) {
+                throw new GenericDaoException(String.format("Sequence '%s' cannot be pooled - %s has no sequences",
+                        name, dialect));
+            }
+            if (sql == null) {
+                sql = strategy == ALLOCATION_STRATEGY.INCREMENT_BY ? dialect.nextSequenceValue(name)
+                        : dialect.nextSequenceValues(name, blockSize);
+            }
+            long startTime = System.nanoTime();
+            JdbcTemplate jdbcTemplate = jdbcTemplateSupplier.get();
+            Block reserved;
+            if (strategy == ALLOCATION_STRATEGY.INCREMENT_BY) {
+                Long first = jdbcTemplate.queryForObject(sql, Long.class);
+                reserved = new Block(first, null, blockSize);
+            } else {
+                List<Long> values = jdbcTemplate.queryForList(sql, Long.class);
+                if (values.size() != blockSize) {
+                    throw new GenericDaoException(String.format("Sequence '%s' returned %s values instead of %s",
+                            name, values.size(), blockSize));
+                }
+                long[] block = new long[blockSize];
+                for (int idx = 0; idx < blockSize; idx++) {
+                    block[idx] = values.get(idx);
+                }
+                reserved = new Block(0, block, blockSize);
+            }
+            refillNanos.addAndGet(System.nanoTime() - startTime);
+            refillCount.incrementAndGet();
+            return reserved;
+        }
+
+        private SequenceStatsDto stats() {
+            return new SequenceStatsDto(name, blockSize, strategy.name(), allocatedCount.sum(), refillCount.get(),
+                    refillNanos.get());
+        }
+    }
+
+    /**
+     * A reserved block - a range from {@code first} or, for MULTI_FETCH, the values as read.
+     */
+    private static final class Block {
+
+        private final long first;
+
+        private final long[] values;
+
+        private final int size;
+
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(long first, long[] values, int size) {
+            this.first = first;
+            this.values = values;
+            this.size = size;
+        }
+
+        private long valueAt(int index) {
+            return values == null ? first + index : values[index];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package otc.framework.generic.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.KeyHolder;
+import otc.framework.generic.dao.DaoMetrics.OPERATION;
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+import otc.framework.generic.dao.dto.KeysetPageDto;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Times dao statements for a {@link DaoMetrics} and logs those slower than a threshold.
+ *
+ * <p>Disabled - no metrics and no threshold - it is a single flag check per statement. Tables not given by the
+ * caller are read off the sql - the first name after FROM, INTO or UPDATE - and cached per sql text. Slow
+ * statements are logged with their string and numeric literals replaced by {@code ?}; bound parameters are
+ * never logged.
+ */
+final class StatementMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatementMetrics.class);
+
+    /** The table of a statement whose sql names none. */
+    static final String UNKNOWN_TABLE = "unknown";
+
+    private static final int TABLE_CACHE_SIZE = 1024;
+
+    private static final Pattern TABLE_PATTERN =
+            Pattern.compile("\\b(?:FROM|INTO|UPDATE)\\s+([\\w.$\"`\\[\\]]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL_PATTERN = Pattern.compile("(?<![\\w.$:?])-?\\d+(?:\\.\\d+)?\\b");
+
+    private final BoundedCache<String, String> tableCache = new BoundedCache<>(TABLE_CACHE_SIZE);
+
+    private volatile DaoMetrics daoMetrics = DaoMetrics.NOOP;
+
+    private volatile long slowThresholdNanos = -1;
+
+    private volatile boolean enabled;
+
+    /**
+     * Tells whether statements are timed at all.
+     *
+     * @return true, if enabled
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setDaoMetrics(DaoMetrics daoMetrics) {
+        this.daoMetrics = daoMetrics == null ? DaoMetrics.NOOP : daoMetrics;
+        updateEnabled();
+    }
+
+    void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdNanos = slowThresholdMillis < 0 ? -1 : slowThresholdMillis * BaseDao.NANOS_IN_ONE_MILLI;
+        updateEnabled();
+    }
+
+    /**
+     * Records a finished statement.
+     *
+     * @param operation the operation
+     * @param table the table, or null to read it off the sql
+     * @param sql the sql, or null
+     * @param startTime the System.nanoTime() at start
+     * @param batchSize the batch size, or 0
+     * @param result the result, to count rows from
+     * @param failure the failure, or null
+     */
+    void record(OPERATION operation, String table, String sql, long startTime, int batchSize, Object result,
+            Throwable failure) {
+        long elapsedNanos = System.nanoTime() - startTime;
+        String tableName = table != null ? table.toLowerCase(Locale.ROOT) : resolveTable(sql);
+        long rowCount = failure == null ? countRows(operation, result) : -1;
+        try {
+            daoMetrics.record(operation, tableName, elapsedNanos, rowCount, batchSize, failure);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Dao metrics failed to record {} on {} - {}", operation, tableName, e.toString());
+        }
+        long threshold = slowThresholdNanos;
+        if (threshold >= 0 && elapsedNanos >= threshold) {
+            LOGGER.warn("Slow {} on {} took (millis) = {} - {}", operation, tableName,
+                    elapsedNanos / BaseDao.NANOS_IN_ONE_MILLI, sql == null ? "(no sql)" : redact(sql));
+        }
+    }
+
+    /**
+     * Replaces the string and numeric literals of sql with {@code ?}.
+     *
+     * @param sql the sql
+     * @return the redacted sql
+     */
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL_PATTERN.matcher(sql).replaceAll("?");
+        return NUMERIC_LITERAL_PATTERN.matcher(redacted).replaceAll("?");
+    }
+
+    private String resolveTable(String sql) {
+        if (sql == null) {
+            return UNKNOWN_TABLE;
+        }
+        return tableCache.computeIfAbsent(sql, StatementMetrics::extractTable);
+    }
+
+    static String extractTable(String sql) {
+        Matcher matcher = TABLE_PATTERN.matcher(sql);
+        if (!matcher.find()) {
+            return UNKNOWN_TABLE;
+        }
+        String table = matcher.group(1).replaceAll("[\"`\\[\\]]", "");
+        return table.isEmpty() ? UNKNOWN_TABLE : table.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Counts the rows of a result - update counts, collections, key holders and dao result types; any other
+     * result, such as a single queried value or a generated key, is one row, or none if null.
+     *
+     * @param operation the operation
+     * @param result the result
+     * @return the row count, or -1 if unknown
+     */
+    static long countRows(OPERATION operation, Object result) {
+        if (result instanceof Integer && operation != OPERATION.QUERY) {
+            return Math.max((Integer) result, 0);
+        }
+        if (result instanceof int[]) {
+            return AbstractDaoImpl.sumUpdateCounts((int[]) result);
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof KeyHolder) {
+            return ((KeyHolder) result).getKeyList().size();
+        }
+        if (result instanceof ColumnarResult) {
+            return ((ColumnarResult) result).getRowCount();
+        }
+        if (result instanceof KeysetPageDto) {
+            return ((KeysetPageDto<?>) result).getRows().size();
+        }
+        if (result instanceof BatchInsertResultDto) {
+            return ((BatchInsertResultDto) result).getInsertedCount();
+        }
+        if (result instanceof Stream) {
+            return -1;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private void updateEnabled() {
+        enabled = daoMetrics != DaoMetrics.NOOP || slowThresholdNanos >= 0;
+    }
+}
@@ -0,0 +1,211 @@
+package otc.framework.generic.dao;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import otc.framework.generic.dao.dto.CacheStatsDto;
+import otc.framework.generic.dao.dto.TableColumnDto;
+import otc.framework.generic.dao.exception.GenericDaoException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Answers table-existence and column-type questions from memory, reading {@link DatabaseMetaData} only on a
+ * miss. Every lookup borrows one connection and returns it, with its result sets, before answering.
+ *
+ * <p>Entries expire after a time to live, so DDL run by others is picked up eventually; DDL run through the dao
+ * refreshes the table right away. A missing table is not cached, so one created meanwhile is found on the next
+ * lookup. Table and column names are matched case-insensitively.
+ *
+ * <p>A lookup without a schema reads the schema of the connection - on every lookup, as a routing data source
+ * may hand out connections of another schema each time - rather than matching the table in every schema,
+ * where same-named tables would have their columns merged.
+ */
+public final class TableMetaDataCache {
+
+    private final Supplier<DataSource> dataSourceSupplier;
+
+    private final BoundedCache<String, Map<String, TableColumnDto>> tables;
+
+    TableMetaDataCache(Supplier<DataSource> dataSourceSupplier, int maxSize, long ttlMillis) {
+        this.dataSourceSupplier = dataSourceSupplier;
+        this.tables = new BoundedCache<>(maxSize, ttlMillis);
+    }
+
+    /**
+     * Checks if is table exists.
+     *
+     * @param schema the schema, or null for that of the connection
+     * @param table the table
+     * @return true, if the table exists
+     */
+    public boolean isTableExists(String schema, String table) {
+        return !getColumns(schema, table).isEmpty();
+    }
+
+    /**
+     * Gets the columns of the table.
+     *
+     * @param schema the schema, or null for that of the connection
+     * @param table the table
+     * @return the columns keyed by lower-case column name, in table order; empty if the table does not exist
+     */
+    public Map<String, TableColumnDto> getColumns(String schema, String table) {
+        Utility.validateTableName(table);
+        String resolvedSchema = resolveSchema(schema);
+        Map<String, TableColumnDto> columns = tables.computeIfAbsent(toKey(resolvedSchema, table),
+                key -> toCached(loadColumns(resolvedSchema, Collections.singleton(table)).get(table)));
+        return columns == null ? Collections.emptyMap() : columns;
+    }
+
+    /**
+     * Gets a column of the table.
+     *
+     * @param schema the schema, or null for that of the connection
+     * @param table the table
+     * @param columnName the column name
+     * @return the column, or null if the table or the column does not exist
+     */
+    public TableColumnDto getColumn(String schema, String table, String columnName) {
+        return getColumns(schema, table).get(columnName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Re-reads the columns of the tables, all within one connection, and caches them.
+     *
+     * @param schema the schema, or null for that of the connection
+     * @param tableNames the tables
+     * @return the columns by table
+     */
+    public Map<String, Map<String, TableColumnDto>> refresh(String schema, Collection<String> tableNames) {
+        String resolvedSchema = resolveSchema(schema);
+        Map<String, Map<String, TableColumnDto>> columnsByTable = loadColumns(resolvedSchema, tableNames);
+        for (Map.Entry<String, Map<String, TableColumnDto>> entry : columnsByTable.entrySet()) {
+            String key = toKey(resolvedSchema, entry.getKey());
+            if (entry.getValue().isEmpty()) {
+                tables.invalidate(key);
+            } else {
+                tables.put(key, entry.getValue());
+            }
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * Drops the table, to be re-read on the next lookup.
+     *
+     * @param schema the schema, or null for that of the connection
+     * @param table the table
+     */
+    public void invalidate(String schema, String table) {
+        tables.invalidate(toKey(resolveSchema(schema), table));
+    }
+
+    public void invalidateAll() {
+        tables.invalidateAll();
+    }
+
+    public void setMaxSize(int maxSize) {
+        tables.setMaxSize(maxSize);
+    }
+
+    public void setTtlMillis(long ttlMillis) {
+        tables.setExpireAfterWriteMillis(ttlMillis);
+    }
+
+    public CacheStatsDto getStats() {
+        return tables.stats();
+    }
+
+    private Map<String, Map<String, TableColumnDto>> loadColumns(String schema, Collection<String> tableNames) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSourceSupplier.get(), databaseMetaData -> {
+                Map<String, Map<String, TableColumnDto>> columnsByTable = new LinkedHashMap<>();
+                for (String table : tableNames) {
+                    Map<String, TableColumnDto> columns = new LinkedHashMap<>();
+                    try (ResultSet resultSet = databaseMetaData.getColumns(null,
+                            toStoredCase(databaseMetaData, schema), toStoredCase(databaseMetaData, table), null)) {
+                        while (resultSet.next()) {
+                            String columnName = resultSet.getString("COLUMN_NAME");
+                            columns.put(columnName.toLowerCase(Locale.ROOT), new TableColumnDto(columnName,
+                                    resultSet.getInt("DATA_TYPE"), resultSet.getString("TYPE_NAME"),
+                                    resultSet.getInt("COLUMN_SIZE"),
+                                    resultSet.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+                        }
+                    }
+                    columnsByTable.put(table, Collections.unmodifiableMap(columns));
+                }
+                return columnsByTable;
+            });
+        } catch (MetaDataAccessException e) {
+            throw new GenericDaoException("Unable to read the columns of " + tableNames + " !", e);
+        }
+    }
+
+    /**
+     * Resolves a missing schema to the schema of the connection - the transaction's, if any.
+     *
+     * @param schema the schema, or null
+     * @return the schema, or null if neither given nor known to the driver
+     */
+    private String resolveSchema(String schema) {
+        if (schema != null) {
+            return schema;
+        }
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSourceSupplier.get(),
+                    databaseMetaData -> getSchema(databaseMetaData.getConnection()));
+        } catch (MetaDataAccessException e) {
+            throw new GenericDaoException("Unable to read the schema of the connection !", e);
+        }
+    }
+
+    /** Keeps a missing table out of the cache. */
+    private static Map<String, TableColumnDto> toCached(Map<String, TableColumnDto> columns) {
+        return columns.isEmpty() ? null : columns;
+    }
+
+    private static String getSchema(Connection connection) throws SQLException {
+        try {
+            return connection.getSchema();
+        } catch (SQLFeatureNotSupportedException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the identifier to the case the database stores unquoted identifiers in.
+     *
+     * @param databaseMetaData the database meta data
+     * @param identifier the identifier
+     * @return the identifier in stored case
+     * @throws SQLException the SQL exception
+     */
+    private static String toStoredCase(DatabaseMetaData databaseMetaData, String identifier) throws SQLException {
+        if (identifier == null) {
+            return null;
+        }
+        if (databaseMetaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+        if (databaseMetaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase(Locale.ROOT);
+        }
+        return identifier;
+    }
+
+    private static String toKey(String schema, String table) {
+        String key = schema == null ? table : schema + '.' + table;
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,20 +4,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import otc.framework.generic.dao.exception.GenericDaoBuilderException;
 
+import java.util.Map;
+
 public class UpdateStatementBuilder extends WhereClauseBuilder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDaoImpl.class);
 
     private StringBuilder updateStatement;
+    private StringBuilder retainedUpdateStatement;
     private enum LEVEL {TABLENAME_ADDED, SET_ADDED, WHERE_ADDED, CONDITION_ADDED}
     private UpdateStatementBuilder.LEVEL level;
 
     private UpdateStatementBuilder() {}
 
+    private static final ThreadLocal<UpdateStatementBuilder> THREAD_LOCAL_BUILDER =
+            ThreadLocal.withInitial(UpdateStatementBuilder::new);
+
     public static UpdateStatementBuilder newBuilder() {
         return new UpdateStatementBuilder();
     }
 
+    /**
+     * Gets the builder of the calling thread, reset. The builder must not be held across another call to this
+     * method on the same thread.
+     *
+     * @return the builder
+     * @see SelectQueryBuilder#threadLocalBuilder()
+     */
+    public static UpdateStatementBuilder threadLocalBuilder() {
+        return THREAD_LOCAL_BUILDER.get().reset();
+    }
+
+    /**
+     * Clears the builder for a new statement, keeping its buffers.
+     *
+     * @return the builder
+     */
+    @Override
+    public UpdateStatementBuilder reset() {
+        super.reset();
+        retainedUpdateStatement = retain(updateStatement, retainedUpdateStatement);
+        updateStatement = null;
+        level = null;
+        return this;
+    }
+
     public UpdateStatementBuilder table(String tableName) {
         if (null != level) {
             throw new GenericDaoBuilderException(String.format("Repeat call to 'updateTable(%s)' is not allowed. ", tableName));
@@ -45,10 +76,8 @@ public class UpdateStatementBuilder extends WhereClauseBuilder {
             updateStatement.append(BaseDao.COMMA);
         }
         updateStatement.append(columnName)
-                .append(TOKENS.EQUALS)
-                .append(BaseDao.APOSTROPHE)
-                .append(columnValue)
-                .append(BaseDao.APOSTROPHE);
+                .append(TOKENS.EQUALS);
+        appendValue(updateStatement, columnName, columnValue);
         level = LEVEL.SET_ADDED;
         return this;
     }
@@ -63,6 +92,7 @@ public class UpdateStatementBuilder extends WhereClauseBuilder {
                     columnName, paramName));
         }
         Utility.validateColumnAndParamName(columnName, paramName);
+        validateParameterName(paramName);
         if (LEVEL.TABLENAME_ADDED == level) {
             updateStatement.append(BaseDao.SET);
         } else if (LEVEL.SET_ADDED == level) {
@@ -90,12 +120,13 @@ public class UpdateStatementBuilder extends WhereClauseBuilder {
         if (LEVEL.SET_ADDED == level) {
             return updateStatement.toString();
         }
-        return updateStatement.append(super.build()).toString();
+        appendWhereClause(updateStatement);
+        return updateStatement.toString();
     }
 
     private boolean initUpdateClause() {
         if (updateStatement == null) {
-            updateStatement = new StringBuilder(BaseDao.UPDATE);
+            updateStatement = reuse(retainedUpdateStatement, BaseDao.UPDATE);
             return true;
         }
         return false;
@@ -212,10 +243,44 @@ public class UpdateStatementBuilder extends WhereClauseBuilder {
     }
 
     public <T> UpdateStatementBuilder between(String columnName, T beginValue, T endValue) {
+        isWhereCalled("between(...)");
         super.between(columnName, beginValue, endValue);
+        this.level = LEVEL.CONDITION_ADDED;
         return this;
     }
 
+    /**
+     * Switches the builder to {@code ?} placeholders; the values are then read with {@link #getBindValues()}.
+     * Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public UpdateStatementBuilder usePositionalParameters() {
+        setBindMode(BIND_MODE.POSITIONAL);
+        return this;
+    }
+
+    /**
+     * Switches the builder to {@code :gd_p1, :gd_p2 ...} placeholders; the values are then read with
+     * {@link #getNamedBindValues()}. Must be called before the first value is added.
+     *
+     * @return the builder
+     */
+    public UpdateStatementBuilder useNamedParameters() {
+        setBindMode(BIND_MODE.NAMED);
+        return this;
+    }
+
+    @Override
+    public Object[] getBindValues() {
+        return super.getBindValues();
+    }
+
+    @Override
+    public Map<String, Object> getNamedBindValues() {
+        return super.getNamedBindValues();
+    }
+
     private boolean isWhereCalled(String methodName) {
         if (LEVEL.WHERE_ADDED != level && LEVEL.CONDITION_ADDED != level) {
             throw new GenericDaoBuilderException(String.format("Query created not in required state for call '%s' ",
@@ -1,23 +1,90 @@
 package otc.framework.generic.dao;
 
+import otc.framework.generic.dao.dialect.SqlDialect;
+import otc.framework.generic.dao.dialect.SqlDialectFactory;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
 import otc.framework.generic.dao.exception.GenericDaoBuilderException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an insert-or-update. Without a dialect, or for POSTGRES, the statement is written as it is built -
+ * {@code INSERT ... ON CONFLICT (...) DO UPDATE SET ...}. For the other dialects the parts are recorded and
+ * rendered by {@link SqlDialect#upsert} in {@link #build()} - MERGE on Oracle and SQL Server,
+ * {@code ON DUPLICATE KEY UPDATE} on MySQL.
+ */
 public class UpsertStatementBuilder extends InsertStatementBuilder {
 
     private StringBuilder upsertStatement;
+    private StringBuilder retainedUpsertStatement;
     private enum LEVEL {TABLENAME_ADDED, COLUMN_ADDED, VALUES_ADDED, VALUE_ADDED, WHERE_ADDED, CONDITION_ADDED,
-                ON_CONFLICT_COLUMNS_ADDED, DO_UPDATE_SET_ADDED, SET_ADDED}
+                ON_CONFLICT_COLUMNS_ADDED, DO_UPDATE_SET_ADDED, SET_ADDED, DO_NOTHING_ADDED}
     private LEVEL level;
     private boolean hasWhereClause;
+    private SqlDialect sqlDialect;
+    private String tableName;
+    private final List<String> columns = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> conflictColumns = new ArrayList<>();
+    private final Map<String, String> assignments = new LinkedHashMap<>();
 
     private UpsertStatementBuilder() {}
 
+    private static final ThreadLocal<UpsertStatementBuilder> THREAD_LOCAL_BUILDER =
+            ThreadLocal.withInitial(UpsertStatementBuilder::new);
+
     public static UpsertStatementBuilder newBuilder() {
         return new UpsertStatementBuilder();
     }
 
+    /**
+     * Gets the builder of the calling thread, reset. The builder must not be held across another call to this
+     * method on the same thread.
+     *
+     * @return the builder
+     * @see SelectQueryBuilder#threadLocalBuilder()
+     */
+    public static UpsertStatementBuilder threadLocalBuilder() {
+        return THREAD_LOCAL_BUILDER.get().reset();
+    }
+
+    /**
+     * Clears the builder for a new statement, keeping its buffers and lists.
+     *
+     * @return the builder
+     */
+    @Override
+    public UpsertStatementBuilder reset() {
+        super.reset();
+        retainedUpsertStatement = retain(upsertStatement, retainedUpsertStatement);
+        upsertStatement = null;
+        level = null;
+        hasWhereClause = false;
+        sqlDialect = null;
+        tableName = null;
+        columns.clear();
+        values.clear();
+        conflictColumns.clear();
+        assignments.clear();
+        return this;
+    }
+
+    public UpsertStatementBuilder dialect(DIALECT dialect) {
+        this.sqlDialect = SqlDialectFactory.getDialect(dialect);
+        return this;
+    }
+
+    public UpsertStatementBuilder dialect(SqlDialect sqlDialect) {
+        this.sqlDialect = sqlDialect;
+        return this;
+    }
+
     public UpsertStatementBuilder into(String tableName) {
         super.into(tableName);
+        this.tableName = tableName;
 //        if (null != level) {
 //            throw new GenericDaoBuilderException(String.format("Repeat call to 'deleteTable(%s)' is not allowed. ", tableName));
 //        }
@@ -32,19 +99,31 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
         if (upsertStatement == null) {
             throw new GenericDaoBuilderException(String.format("Upsert statement nothing to build(). level = %s", level));
         }
-        if (LEVEL.VALUE_ADDED != level && LEVEL.CONDITION_ADDED != level && LEVEL.SET_ADDED != level) {
+        if (LEVEL.VALUE_ADDED != level && LEVEL.CONDITION_ADDED != level && LEVEL.SET_ADDED != level
+                && LEVEL.DO_NOTHING_ADDED != level) {
             throw new GenericDaoBuilderException(String.format(
                     "Upsert statement created not in a required state for call to build(). level = %s", level));
         }
+        if (isRenderedByDialect()) {
+            if (hasWhereClause) {
+                throw new GenericDaoBuilderException(String.format(
+                        "Upsert with a where-clause cannot be rendered for %s", sqlDialect));
+            }
+            return sqlDialect.upsert(tableName, columns, values, conflictColumns, assignments);
+        }
         if (LEVEL.VALUE_ADDED == level) {
             upsertStatement.append(BaseDao.CLOSE_PARANTHESIS);
         }
         return upsertStatement.toString();
     }
 
+    private boolean isRenderedByDialect() {
+        return sqlDialect != null && DIALECT.POSTGRES != sqlDialect.getDialect();
+    }
+
     private boolean initUpsertClause() {
         if (upsertStatement == null) {
-            upsertStatement = new StringBuilder();
+            upsertStatement = reuse(retainedUpsertStatement, "");
             return true;
         }
         return false;
@@ -66,6 +145,7 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
             upsertStatement.append(BaseDao.COMMA);
         }
         upsertStatement.append(columnName);
+        conflictColumns.add(columnName);
         level = LEVEL.ON_CONFLICT_COLUMNS_ADDED;
         return this;
     }
@@ -81,6 +161,23 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
         return this;
     }
 
+    /**
+     * Leaves the conflicting rows as they are - {@code ON CONFLICT (...) DO NOTHING} on PostgreSQL, the matching
+     * form on the other dialects.
+     *
+     * @return the builder
+     */
+    public UpsertStatementBuilder doNothing() {
+        if (LEVEL.ON_CONFLICT_COLUMNS_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Upsert statement not created in required state for call to doNothing(). level = %s", level));
+        }
+        upsertStatement.append(BaseDao.CLOSE_PARANTHESIS)
+                .append(BaseDao.DO_NOTHING);
+        level = LEVEL.DO_NOTHING_ADDED;
+        return this;
+    }
+
     public <T> UpsertStatementBuilder set(String columnName, T columnValue) {
         if (LEVEL.DO_UPDATE_SET_ADDED != level && LEVEL.SET_ADDED != level) {
             throw new GenericDaoBuilderException(String.format(
@@ -96,6 +193,7 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
                 .append(BaseDao.APOSTROPHE)
                 .append(columnValue)
                 .append(BaseDao.APOSTROPHE);
+        assignments.put(columnName, BaseDao.APOSTROPHE + columnValue + BaseDao.APOSTROPHE);
         level = LEVEL.SET_ADDED;
         return this;
     }
@@ -114,6 +212,35 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
                 .append(TOKENS.EQUALS)
                 .append(BaseDao.COLON)
                 .append(paramName);
+        assignments.put(columnName, BaseDao.COLON + paramName);
+        level = LEVEL.SET_ADDED;
+        return this;
+    }
+
+    /**
+     * Sets the column to the value the statement tried to insert - {@code col = EXCLUDED.col} on PostgreSQL,
+     * the matching form on the other dialects.
+     *
+     * @param columnName the column name
+     * @return the builder
+     */
+    public UpsertStatementBuilder setToInsertedValue(String columnName) {
+        if (LEVEL.DO_UPDATE_SET_ADDED != level && LEVEL.SET_ADDED != level) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Upsert statement not in required state for call setToInsertedValue(%s). level = %s",
+                    columnName, level));
+        }
+        Utility.validate(columnName);
+        if (LEVEL.SET_ADDED == level) {
+            upsertStatement.append(BaseDao.COMMA);
+        }
+        SqlDialect insertedValueDialect = isRenderedByDialect() ? sqlDialect :
+                SqlDialectFactory.getDialect(DIALECT.POSTGRES);
+        String insertedValue = insertedValueDialect.insertedValue(columnName);
+        upsertStatement.append(columnName)
+                .append(TOKENS.EQUALS)
+                .append(insertedValue);
+        assignments.put(columnName, insertedValue);
         level = LEVEL.SET_ADDED;
         return this;
     }
@@ -121,6 +248,7 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
 
     public UpsertStatementBuilder column(String columnName) {
         super.column(columnName);
+        columns.add(columnName);
 //        if (InsertStatementBuilder.LEVEL.TABLENAME_ADDED != level && InsertStatementBuilder.LEVEL.COLUMN_ADDED != level) {
 //            throw new GenericDaoBuilderException(String.format(
 //                    "Insert statement not in required state to call column(%s). level = %s", columnName, level));
@@ -150,6 +278,7 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
 
     public UpsertStatementBuilder value() {
         super.value();
+        values.add(BaseDao.QUESTION);
 //        if (true) {
 //            throw new GenericDaoBuilderException("Not implemented.");
 //        }
@@ -166,8 +295,29 @@ public class UpsertStatementBuilder extends InsertStatementBuilder {
         return this;
     }
 
+    public UpsertStatementBuilder rows(int rowCount) {
+        // records its placeholders through rows(int, int)
+        super.rows(rowCount);
+        level = LEVEL.VALUE_ADDED;
+        return this;
+    }
+
+    public UpsertStatementBuilder rows(int rowCount, int maxParameters) {
+        super.rows(rowCount, maxParameters);
+        addPlaceholderRows(rowCount);
+        level = LEVEL.VALUE_ADDED;
+        return this;
+    }
+
+    private void addPlaceholderRows(int rowCount) {
+        for (int idx = 0; idx < rowCount * columns.size(); idx++) {
+            values.add(BaseDao.QUESTION);
+        }
+    }
+
     public UpsertStatementBuilder namedValue(String columnName) {
         super.namedValue(columnName);
+        values.add(BaseDao.COLON + columnName);
 //        if (InsertStatementBuilder.LEVEL.VALUES_ADDED != level && InsertStatementBuilder.LEVEL.VALUE_ADDED != level) {
 //            throw new GenericDaoBuilderException(String.format(
 //                    "Insert statement not in required state to call namedValue(%s). level = %s",
@@ -2,8 +2,13 @@ package otc.framework.generic.dao;
 
 import otc.framework.generic.dao.exception.GenericDaoValidationException;
 
+import java.util.regex.Pattern;
+
 public class Utility {
 
+    /** A plain or schema-qualified identifier - nothing that could end the statement it is pasted into. */
+    private static final Pattern QUALIFIED_NAME_PATTERN = Pattern.compile("[A-Za-z_][\\w$]*(?:\\.[A-Za-z_][\\w$]*)*");
+
 
     public static void validate(String columnName) {
         if (null == columnName || columnName.trim().equals("")) {
@@ -33,4 +38,19 @@ public class Utility {
         }
     }
 
+    /**
+     * Validates a sequence name, which is pasted into the SQL - it must be a plain, optionally qualified,
+     * identifier.
+     *
+     * @param sequenceName the sequence name
+     */
+    public static void validateSequenceName(String sequenceName) {
+        if (null == sequenceName || sequenceName.trim().equals("")) {
+            throw new GenericDaoValidationException("Sequence name cannot be empty.");
+        }
+        if (!QUALIFIED_NAME_PATTERN.matcher(sequenceName).matches()) {
+            throw new GenericDaoValidationException("Invalid sequence name '" + sequenceName + "'.");
+        }
+    }
+
 }
@@ -1,13 +1,42 @@
 package otc.framework.generic.dao;
 
 
+import otc.framework.generic.dao.exception.GenericDaoBuilderException;
 import otc.framework.generic.dao.exception.GenericDaoException;
 import otc.framework.generic.dao.exception.GenericDaoValidationException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 class WhereClauseBuilder {
 
+    /** The largest buffer kept across {@link #reset()}; a larger one is dropped rather than pinned to a pooled builder. */
+    static final int MAX_RETAINED_CAPACITY = 8192;
+
     private StringBuilder whereClause;
 
+    private StringBuilder retainedWhereClause;
+
+    /**
+     * How criteria values get into the statement. INLINE pastes them as quoted literals; POSITIONAL and NAMED
+     * emit {@code ?} or {@code :gd_p1, :gd_p2 ...} placeholders and collect the values, so the SQL text stays the same
+     * whatever the values - and the driver / server statement caches can reuse it.
+     */
+    enum BIND_MODE {INLINE, POSITIONAL, NAMED}
+
+    private BIND_MODE bindMode = BIND_MODE.INLINE;
+
+    private List<String> bindColumns;
+
+    private List<Object> bindValues;
+
+    /** Whether a value - literal or placeholder - was appended, after which the bind mode is fixed. */
+    private boolean isValueAppended;
+
     public enum LOGICAL_OPERATORS {
         AND(" AND "),
         /** The or. */
@@ -141,17 +170,42 @@ class WhereClauseBuilder {
 
     protected <T> WhereClauseBuilder between(String columnName, T beginValue, T endValue) {
         validate(columnName, beginValue, endValue);
-        if (whereClause == null) {
-            whereClause = new StringBuilder(TOKENS.WHERE.label);
-        }
+        initWhereClause();
         whereClause.append(columnName)
-                .append(TOKENS.BETWEEN)
-                .append(beginValue)
-                .append(BaseDao.APOSTROPHE + BaseDao.SPACE)
-                .append(LOGICAL_OPERATORS.AND)
-                .append(BaseDao.SPACE + BaseDao.APOSTROPHE)
-                .append(endValue).append(BaseDao.APOSTROPHE);
+                .append(TOKENS.BETWEEN);
+        appendValue(whereClause, columnName, beginValue);
+        whereClause.append(LOGICAL_OPERATORS.AND.getOperator());
+        appendValue(whereClause, columnName, endValue);
+        return this;
+    }
 
+    /**
+     * Adds {@code column IN (v1, v2 ...)} - one literal or placeholder per value, as per the bind mode.
+     *
+     * @param <T> the generic type
+     * @param columnName the column name
+     * @param columnValues the values, neither empty nor holding a null
+     * @return the builder
+     */
+    protected <T> WhereClauseBuilder in(String columnName, Collection<T> columnValues) {
+        Utility.validate(columnName);
+        if (columnValues == null || columnValues.isEmpty()) {
+            throw new GenericDaoValidationException(String.format("Invalid IN-list of '%s' - no values", columnName));
+        }
+        initWhereClause();
+        whereClause.append(columnName)
+                .append(TOKENS.IN)
+                .append('(');
+        boolean first = true;
+        for (T columnValue : columnValues) {
+            Utility.validate(columnName, columnValue);
+            if (!first) {
+                whereClause.append(BaseDao.COMMA);
+            }
+            appendValue(whereClause, columnName, columnValue);
+            first = false;
+        }
+        whereClause.append(')');
         return this;
     }
 
@@ -162,9 +216,163 @@ class WhereClauseBuilder {
         return whereClause.toString();
     }
 
+    /**
+     * Clears the where-clause, the bind mode and the bind values, keeping the buffers for the next statement.
+     *
+     * @return the builder
+     */
+    protected WhereClauseBuilder reset() {
+        retainedWhereClause = retain(whereClause, retainedWhereClause);
+        whereClause = null;
+        bindMode = BIND_MODE.INLINE;
+        isValueAppended = false;
+        if (bindValues != null) {
+            bindValues.clear();
+            bindColumns.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Appends the where-clause, if any, to the statement - without the intermediate string of {@link #build()}.
+     *
+     * @param statement the statement
+     * @return true, if there was a where-clause
+     */
+    protected boolean appendWhereClause(StringBuilder statement) {
+        if (whereClause == null) {
+            return false;
+        }
+        statement.append(whereClause);
+        return true;
+    }
+
+    /**
+     * Gets the buffer to keep across a reset - the one just used, or else the one kept before.
+     *
+     * @param used the buffer used by the statement, if any
+     * @param retained the buffer kept before, if any
+     * @return the buffer to keep, or null
+     */
+    static StringBuilder retain(StringBuilder used, StringBuilder retained) {
+        StringBuilder buffer = used != null ? used : retained;
+        return buffer == null || buffer.capacity() > MAX_RETAINED_CAPACITY ? null : buffer;
+    }
+
+    /**
+     * Starts a statement in the retained buffer, or in a new one.
+     *
+     * @param retained the retained buffer, if any
+     * @param prefix the start of the statement
+     * @return the buffer
+     */
+    static StringBuilder reuse(StringBuilder retained, String prefix) {
+        if (retained == null) {
+            return new StringBuilder(prefix);
+        }
+        retained.setLength(0);
+        return retained.append(prefix);
+    }
+
+    protected void setBindMode(BIND_MODE bindMode) {
+        if (isValueAppended || whereClause != null) {
+            throw new GenericDaoBuilderException("Bind mode can only be set before the first value is added");
+        }
+        this.bindMode = bindMode;
+    }
+
+    protected BIND_MODE getBindMode() {
+        return bindMode;
+    }
+
+    /**
+     * Gets the values of the positional placeholders, in placeholder order.
+     *
+     * @return the bind values
+     */
+    protected Object[] getBindValues() {
+        if (bindValues == null) {
+            return new Object[0];
+        }
+        return bindValues.toArray();
+    }
+
+    /**
+     * Gets the columns the placeholders compare against, in placeholder order.
+     *
+     * @return the bind columns
+     */
+    protected List<String> getBindColumns() {
+        if (bindColumns == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(bindColumns);
+    }
+
+    /**
+     * Gets the values of the named placeholders, keyed by parameter name ({@code gd_p1, gd_p2 ...}).
+     *
+     * @return a new map of the bind values
+     */
+    protected Map<String, Object> getNamedBindValues() {
+        Map<String, Object> namedBindValues = new LinkedHashMap<>();
+        if (bindValues != null) {
+            for (int idx = 0; idx < bindValues.size(); idx++) {
+                namedBindValues.put(BaseDao.BIND_PARAMETER_PREFIX + (idx + 1), bindValues.get(idx));
+            }
+        }
+        return namedBindValues;
+    }
+
+    /**
+     * Appends the value as a quoted literal, or as a placeholder while recording the value, as per the bind mode.
+     * Shared with the SET clause of the update builder, which precedes the where-clause and so keeps the
+     * placeholders in statement order.
+     *
+     * @param statement the statement
+     * @param columnName the column name
+     * @param value the value
+     */
+    protected void appendValue(StringBuilder statement, String columnName, Object value) {
+        isValueAppended = true;
+        if (BIND_MODE.INLINE == bindMode) {
+            statement.append(BaseDao.APOSTROPHE)
+                    .append(value)
+                    .append(BaseDao.APOSTROPHE);
+            return;
+        }
+        if (bindValues == null) {
+            bindValues = new ArrayList<>();
+            bindColumns = new ArrayList<>();
+        }
+        bindValues.add(value);
+        bindColumns.add(columnName);
+        if (BIND_MODE.POSITIONAL == bindMode) {
+            statement.append(BaseDao.QUESTION);
+        } else {
+            statement.append(BaseDao.COLON)
+                    .append(BaseDao.BIND_PARAMETER_PREFIX)
+                    .append(bindValues.size());
+        }
+    }
+
+    /**
+     * Rejects a caller's parameter name that could collide with the generated ones.
+     *
+     * @param paramName the parameter name
+     */
+    static void validateParameterName(String paramName) {
+        if (paramName.regionMatches(true, 0, BaseDao.RESERVED_PARAMETER_PREFIX, 0,
+                BaseDao.RESERVED_PARAMETER_PREFIX.length())) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Parameter '%s' - the prefix '%s' is reserved for generated parameters", paramName,
+                    BaseDao.RESERVED_PARAMETER_PREFIX));
+        }
+    }
+
     private void initWhereClause() {
         if (whereClause == null) {
-            whereClause = new StringBuilder(TOKENS.WHERE.label);
+            whereClause = reuse(retainedWhereClause, TOKENS.WHERE.label);
         }
     }
 
@@ -181,6 +389,11 @@ class WhereClauseBuilder {
 
     private void addNamedCriteria(String columnName, TOKENS relationalOperator) {
         Utility.validate(columnName);
+        if (BIND_MODE.POSITIONAL == bindMode) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Named criteria on '%s' cannot be mixed with positional bind parameters", columnName));
+        }
+        validateParameterName(columnName);
         initWhereClause();
         whereClause.append(columnName)
                 .append(relationalOperator)
@@ -201,27 +414,32 @@ class WhereClauseBuilder {
                 whereClause.append(columnName).append(TOKENS.IS_NOT_NULL);
             } else {
                 whereClause.append(columnName)
-                        .append(relationalOperator)
-                        .append(BaseDao.APOSTROPHE)
-                        .append(columnValue)
-                        .append(BaseDao.APOSTROPHE);
+                        .append(relationalOperator);
+                appendValue(whereClause, columnName, columnValue);
             }
         } else {
             whereClause.append(columnName)
-                    .append(relationalOperator)
-                    .append(BaseDao.APOSTROPHE)
-                    .append(columnValue)
-                    .append(BaseDao.APOSTROPHE);
+                    .append(relationalOperator);
+            appendValue(whereClause, columnName, columnValue);
         }
     }
 
     private void addLogicalOperator(LOGICAL_OPERATORS logicalOperator) {
-        if (whereClause == null || whereClause.toString().trim().equals("")) {
+        if (whereClause == null || isBlank(whereClause)) {
             throw new GenericDaoValidationException("Invalid Where clause constructed");
         }
         whereClause.append(logicalOperator.getOperator());
     }
 
+    private static boolean isBlank(CharSequence chars) {
+        for (int idx = 0; idx < chars.length(); idx++) {
+            if (chars.charAt(idx) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Builds the where clause.
      *
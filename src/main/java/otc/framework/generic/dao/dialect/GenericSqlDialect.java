@@ -0,0 +1,233 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.BaseDao;
+import otc.framework.generic.dao.InsertStatementBuilder;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+import otc.framework.generic.dao.exception.GenericDaoBuilderException;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ANSI SQL dialect - standard MERGE, {@code NEXT VALUE FOR}, {@code FETCH FIRST} and row-value comparisons.
+ * Used as is for databases without a dedicated dialect (H2, DB2, Derby ...), and as the base of the others.
+ */
+public class GenericSqlDialect implements SqlDialect {
+
+    protected static final String TARGET_ALIAS = "t";
+    protected static final String SOURCE_ALIAS = "s";
+
+    private static final String MERGE_INTO = "MERGE INTO ";
+    private static final String USING = " USING (";
+    private static final String ON = " ON (";
+    private static final String WHEN_MATCHED_UPDATE_SET = " WHEN MATCHED THEN UPDATE SET ";
+    private static final String WHEN_NOT_MATCHED_INSERT = " WHEN NOT MATCHED THEN INSERT (";
+    protected static final String SELECT_NEXT_VALUE_FOR = "SELECT NEXT VALUE FOR ";
+
+    private static final String VALUES_NEXT_VALUE_FOR = "VALUES NEXT VALUE FOR ";
+
+    protected GenericSqlDialect() {}
+
+    @Override
+    public DIALECT getDialect() {
+        return null;
+    }
+
+    @Override
+    public String upsert(String table, List<String> columns, List<String> values, List<String> conflictColumns,
+            Map<String, String> assignments) {
+        validateUpsert(columns, values, conflictColumns);
+        StringBuilder statement = new StringBuilder(MERGE_INTO);
+        appendMergeTarget(statement, table);
+        statement.append(USING);
+        appendMergeSource(statement, columns, values);
+        statement.append(ON);
+        for (int idx = 0; idx < conflictColumns.size(); idx++) {
+            if (idx > 0) {
+                statement.append(" AND ");
+            }
+            String conflictColumn = conflictColumns.get(idx);
+            statement.append(TARGET_ALIAS).append('.').append(conflictColumn)
+                    .append(" = ")
+                    .append(SOURCE_ALIAS).append('.').append(conflictColumn);
+        }
+        statement.append(')');
+        if (!assignments.isEmpty()) {
+            statement.append(WHEN_MATCHED_UPDATE_SET);
+            appendAssignments(statement, assignments);
+        }
+        statement.append(WHEN_NOT_MATCHED_INSERT)
+                .append(String.join(BaseDao.COMMA, columns))
+                .append(BaseDao.CLOSE_PARANTHESIS)
+                .append(BaseDao.VALUES.trim());
+        for (int idx = 0; idx < columns.size(); idx++) {
+            if (idx > 0) {
+                statement.append(BaseDao.COMMA);
+            }
+            statement.append(insertedValue(columns.get(idx)));
+        }
+        statement.append(')');
+        appendMergeTerminator(statement);
+        return statement.toString();
+    }
+
+    @Override
+    public String insertedValue(String columnName) {
+        return SOURCE_ALIAS + '.' + columnName;
+    }
+
+    @Override
+    public boolean supportsSequences() {
+        return true;
+    }
+
+    /**
+     * Renders {@code VALUES NEXT VALUE FOR s} - DB2 and Derby reject a SELECT without FROM.
+     */
+    @Override
+    public String nextSequenceValue(String sequenceName) {
+        return VALUES_NEXT_VALUE_FOR + sequenceName;
+    }
+
+    /**
+     * Renders {@code SELECT NEXT VALUE FOR s FROM (VALUES (0), (0) ...) v} - one row per value.
+     */
+    @Override
+    public String nextSequenceValues(String sequenceName, int count) {
+        return SELECT_NEXT_VALUE_FOR + sequenceName + BaseDao.FROM + createRows(count) + " v";
+    }
+
+    @Override
+    public void appendLimit(StringBuilder statement, int rowCount) {
+        statement.append(BaseDao.FETCH_FIRST).append(rowCount).append(BaseDao.ROWS_ONLY);
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public boolean requiresOrderByForLimit() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return false;
+    }
+
+    @Override
+    public String multiRowInsert(String table, List<String> columns, int rowCount) {
+        InsertStatementBuilder insertStatementBuilder = InsertStatementBuilder.newBuilder().into(table);
+        for (String columnName : columns) {
+            insertStatementBuilder.column(columnName);
+        }
+        return insertStatementBuilder.values()
+                .rows(rowCount, Integer.MAX_VALUE)
+                .build();
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return BaseDao.MAX_BIND_PARAMETERS;
+    }
+
+    @Override
+    public int getMaxRowsPerInsert() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+
+    protected void appendMergeTarget(StringBuilder statement, String table) {
+        statement.append(table).append(BaseDao.SPACE).append(TARGET_ALIAS);
+    }
+
+    /**
+     * Appends the rows as a derived table aliased {@code s}, closing the parenthesis opened by USING - the
+     * ANSI form is {@code (VALUES (?, ?), (?, ?)) s (a, b)}.
+     *
+     * @param statement the statement
+     * @param columns the columns
+     * @param values the values
+     */
+    protected void appendMergeSource(StringBuilder statement, List<String> columns, List<String> values) {
+        statement.append(BaseDao.VALUES.trim());
+        appendTuples(statement, columns.size(), values);
+        statement.append(')')
+                .append(BaseDao.CLOSE_PARANTHESIS)
+                .append(SOURCE_ALIAS)
+                .append(BaseDao.OPEN_PARANTHESIS)
+                .append(String.join(BaseDao.COMMA, columns))
+                .append(')');
+    }
+
+    protected void appendMergeTerminator(StringBuilder statement) {
+    }
+
+    /**
+     * Appends the value tuples without the opening parenthesis of the first - {@code ?, ?), (?, ?}.
+     *
+     * @param statement the statement
+     * @param columnCount the column count
+     * @param values the values
+     */
+    protected static void appendTuples(StringBuilder statement, int columnCount, List<String> values) {
+        for (int idx = 0; idx < values.size(); idx++) {
+            if (idx > 0) {
+                statement.append(idx % columnCount == 0 ? BaseDao.VALUES_SEPARATOR : BaseDao.COMMA);
+            }
+            statement.append(values.get(idx));
+        }
+    }
+
+    /**
+     * Creates a derived table of {@code count} rows - {@code (VALUES (0), (0) ...)}.
+     *
+     * @param count the count
+     * @return the rows
+     */
+    protected static String createRows(int count) {
+        if (count < 1) {
+            throw new GenericDaoValidationException("Row count must be at least 1 !");
+        }
+        StringBuilder rows = new StringBuilder(count * 5 + 10).append('(').append(BaseDao.VALUES.trim()).append('0');
+        for (int idx = 1; idx < count; idx++) {
+            rows.append(BaseDao.VALUES_SEPARATOR).append('0');
+        }
+        return rows.append("))").toString();
+    }
+
+    protected static void appendAssignments(StringBuilder statement, Map<String, String> assignments) {
+        boolean isFirst = true;
+        for (Map.Entry<String, String> assignment : assignments.entrySet()) {
+            if (!isFirst) {
+                statement.append(BaseDao.COMMA);
+            }
+            statement.append(assignment.getKey())
+                    .append(" = ")
+                    .append(assignment.getValue());
+            isFirst = false;
+        }
+    }
+
+    protected static void validateUpsert(List<String> columns, List<String> values, List<String> conflictColumns) {
+        if (columns.isEmpty() || values.isEmpty() || values.size() % columns.size() != 0) {
+            throw new GenericDaoBuilderException(String.format(
+                    "Upsert of %s columns needs a multiple of as many values, got %s", columns.size(), values.size()));
+        }
+        if (conflictColumns.isEmpty()) {
+            throw new GenericDaoBuilderException("Upsert needs the conflict columns of a unique key");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.BaseDao;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+/**
+ * SQL Server - MERGE under HOLDLOCK, so concurrent upserts of one key do not both insert, and
+ * {@code OFFSET 0 ROWS FETCH NEXT} for row limits, which needs an ORDER BY. A statement takes at most 2100
+ * parameters and a VALUES list at most 1000 rows.
+ */
+public class MsSqlDialect extends GenericSqlDialect {
+
+    private static final String WITH_HOLDLOCK = " WITH (HOLDLOCK) AS ";
+
+    private static final int MAX_BIND_PARAMETERS = 2100;
+
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
+    protected MsSqlDialect() {}
+
+    @Override
+    public DIALECT getDialect() {
+        return DIALECT.MS_SQL;
+    }
+
+    @Override
+    public String nextSequenceValue(String sequenceName) {
+        return SELECT_NEXT_VALUE_FOR + sequenceName;
+    }
+
+    /**
+     * Renders {@code SELECT NEXT VALUE FOR s FROM (VALUES (0), (0) ...) v (x)}, so at most 1000 values per
+     * call. NEXT VALUE FOR is not allowed together with TOP.
+     */
+    @Override
+    public String nextSequenceValues(String sequenceName, int count) {
+        if (count > MAX_ROWS_PER_INSERT) {
+            throw new GenericDaoValidationException(String.format(
+                    "At most %s values of sequence '%s' can be read at once", MAX_ROWS_PER_INSERT, sequenceName));
+        }
+        return SELECT_NEXT_VALUE_FOR + sequenceName + BaseDao.FROM + createRows(count) + " v (x)";
+    }
+
+    @Override
+    public void appendLimit(StringBuilder statement, int rowCount) {
+        statement.append(BaseDao.OFFSET_FETCH_NEXT).append(rowCount).append(BaseDao.ROWS_ONLY);
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    @Override
+    public boolean requiresOrderByForLimit() {
+        return true;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return MAX_BIND_PARAMETERS;
+    }
+
+    @Override
+    public int getMaxRowsPerInsert() {
+        return MAX_ROWS_PER_INSERT;
+    }
+
+    @Override
+    protected void appendMergeTarget(StringBuilder statement, String table) {
+        statement.append(table).append(WITH_HOLDLOCK).append(TARGET_ALIAS);
+    }
+
+    @Override
+    protected void appendMergeTerminator(StringBuilder statement) {
+        // SQL Server insists on a terminated MERGE
+        statement.append(BaseDao.SEMI_COLON);
+    }
+}
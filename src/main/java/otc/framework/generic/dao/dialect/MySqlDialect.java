@@ -0,0 +1,82 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.BaseDao;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+import otc.framework.generic.dao.exception.GenericDaoException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MySQL and MariaDB - {@code INSERT ... ON DUPLICATE KEY UPDATE} and LIMIT. There are no sequences; use an
+ * AUTO_INCREMENT column.
+ */
+public class MySqlDialect extends GenericSqlDialect {
+
+    private static final String ON_DUPLICATE_KEY_UPDATE = " ON DUPLICATE KEY UPDATE ";
+
+    protected MySqlDialect() {}
+
+    @Override
+    public DIALECT getDialect() {
+        return DIALECT.MYSQL;
+    }
+
+    /**
+     * Renders {@code INSERT INTO t (a, b) VALUES (?, ?) ON DUPLICATE KEY UPDATE b = VALUES(b)}. MySQL picks the
+     * conflicting unique key itself, so the conflict columns only serve the no-assignment case, which
+     * re-assigns the first of them to itself.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> values, List<String> conflictColumns,
+            Map<String, String> assignments) {
+        validateUpsert(columns, values, conflictColumns);
+        StringBuilder statement = new StringBuilder(BaseDao.INSERT_INTO)
+                .append(table)
+                .append(BaseDao.OPEN_PARANTHESIS)
+                .append(String.join(BaseDao.COMMA, columns))
+                .append(BaseDao.CLOSE_PARANTHESIS)
+                .append(BaseDao.VALUES.trim());
+        appendTuples(statement, columns.size(), values);
+        statement.append(')').append(ON_DUPLICATE_KEY_UPDATE);
+        if (assignments.isEmpty()) {
+            statement.append(conflictColumns.get(0))
+                    .append(" = ")
+                    .append(conflictColumns.get(0));
+        } else {
+            appendAssignments(statement, assignments);
+        }
+        return statement.toString();
+    }
+
+    @Override
+    public String insertedValue(String columnName) {
+        return "VALUES(" + columnName + ")";
+    }
+
+    @Override
+    public boolean supportsSequences() {
+        return false;
+    }
+
+    @Override
+    public String nextSequenceValue(String sequenceName) {
+        throw new GenericDaoException(String.format(
+                "MySQL has no sequences - cannot read '%s'. Use an AUTO_INCREMENT column.", sequenceName));
+    }
+
+    @Override
+    public String nextSequenceValues(String sequenceName, int count) {
+        return nextSequenceValue(sequenceName);
+    }
+
+    @Override
+    public void appendLimit(StringBuilder statement, int rowCount) {
+        statement.append(BaseDao.LIMIT).append(rowCount);
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+}
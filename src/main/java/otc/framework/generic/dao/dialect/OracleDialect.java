@@ -0,0 +1,100 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.BaseDao;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+
+import java.util.List;
+
+/**
+ * Oracle - MERGE from {@code SELECT ... FROM DUAL}, {@code seq.NEXTVAL} and {@code INSERT ALL} for multi-row
+ * inserts. Row limits use {@code FETCH FIRST}, so 12c or later is needed.
+ */
+public class OracleDialect extends GenericSqlDialect {
+
+    private static final String INSERT_ALL = "INSERT ALL";
+    private static final String INTO = " INTO ";
+    private static final String SELECT_FROM_DUAL = " SELECT 1 FROM DUAL";
+    private static final String FROM_DUAL = " FROM DUAL";
+    private static final String CONNECT_BY_LEVEL = " CONNECT BY LEVEL <= ";
+    private static final String UNION_ALL = " UNION ALL ";
+
+    /** ORA-01795 - at most 1000 expressions in a list. */
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    protected OracleDialect() {}
+
+    @Override
+    public DIALECT getDialect() {
+        return DIALECT.ORACLE;
+    }
+
+    @Override
+    public String nextSequenceValue(String sequenceName) {
+        return BaseDao.SELECT + sequenceName + BaseDao.NEXTVAL_FROM_DUAL;
+    }
+
+    @Override
+    public String nextSequenceValues(String sequenceName, int count) {
+        return nextSequenceValue(sequenceName) + CONNECT_BY_LEVEL + count;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return MAX_IN_LIST_SIZE;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * Renders {@code INSERT ALL INTO t (a, b) VALUES (?, ?) INTO t (a, b) VALUES (?, ?) SELECT 1 FROM DUAL}.
+     * Note that a sequence or identity default is evaluated once for the whole statement.
+     */
+    @Override
+    public String multiRowInsert(String table, List<String> columns, int rowCount) {
+        String columnList = String.join(BaseDao.COMMA, columns);
+        StringBuilder statement = new StringBuilder(INSERT_ALL);
+        for (int row = 0; row < rowCount; row++) {
+            statement.append(INTO)
+                    .append(table)
+                    .append(BaseDao.OPEN_PARANTHESIS)
+                    .append(columnList)
+                    .append(BaseDao.CLOSE_PARANTHESIS)
+                    .append(BaseDao.VALUES.trim());
+            for (int column = 0; column < columns.size(); column++) {
+                if (column > 0) {
+                    statement.append(BaseDao.COMMA);
+                }
+                statement.append(BaseDao.QUESTION);
+            }
+            statement.append(')');
+        }
+        return statement.append(SELECT_FROM_DUAL).toString();
+    }
+
+    /**
+     * Oracle has no VALUES table constructor - the rows are selected from DUAL and glued with UNION ALL.
+     */
+    @Override
+    protected void appendMergeSource(StringBuilder statement, List<String> columns, List<String> values) {
+        for (int idx = 0; idx < values.size(); idx++) {
+            int column = idx % columns.size();
+            if (column == 0) {
+                if (idx > 0) {
+                    statement.append(FROM_DUAL).append(UNION_ALL);
+                }
+                statement.append(BaseDao.SELECT);
+            } else {
+                statement.append(BaseDao.COMMA);
+            }
+            statement.append(values.get(idx))
+                    .append(BaseDao.SPACE)
+                    .append(columns.get(column));
+        }
+        statement.append(FROM_DUAL)
+                .append(BaseDao.CLOSE_PARANTHESIS)
+                .append(SOURCE_ALIAS);
+    }
+}
@@ -0,0 +1,84 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.BaseDao;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL - {@code INSERT ... ON CONFLICT}, {@code nextval('seq')} and LIMIT.
+ */
+public class PostgresDialect extends GenericSqlDialect {
+
+    private static final String EXCLUDED = "EXCLUDED.";
+
+    protected PostgresDialect() {}
+
+    @Override
+    public DIALECT getDialect() {
+        return DIALECT.POSTGRES;
+    }
+
+    /**
+     * Renders {@code INSERT INTO t (a, b) VALUES (?, ?) ON CONFLICT (a) DO UPDATE SET b = EXCLUDED.b}, or
+     * {@code DO NOTHING} without assignments.
+     */
+    @Override
+    public String upsert(String table, List<String> columns, List<String> values, List<String> conflictColumns,
+            Map<String, String> assignments) {
+        validateUpsert(columns, values, conflictColumns);
+        StringBuilder statement = new StringBuilder(BaseDao.INSERT_INTO)
+                .append(table)
+                .append(BaseDao.OPEN_PARANTHESIS)
+                .append(String.join(BaseDao.COMMA, columns))
+                .append(BaseDao.CLOSE_PARANTHESIS)
+                .append(BaseDao.VALUES.trim());
+        appendTuples(statement, columns.size(), values);
+        statement.append(')')
+                .append(BaseDao.ON_CONFLICT)
+                .append(String.join(BaseDao.COMMA, conflictColumns))
+                .append(')');
+        if (assignments.isEmpty()) {
+            statement.append(BaseDao.DO_NOTHING);
+        } else {
+            statement.append(BaseDao.DO_UPDATE_SET);
+            appendAssignments(statement, assignments);
+        }
+        return statement.toString();
+    }
+
+    @Override
+    public String insertedValue(String columnName) {
+        return EXCLUDED + columnName;
+    }
+
+    @Override
+    public String nextSequenceValue(String sequenceName) {
+        return "SELECT nextval('" + sequenceName + "')";
+    }
+
+    @Override
+    public String nextSequenceValues(String sequenceName, int count) {
+        return nextSequenceValue(sequenceName) + " FROM generate_series(1, " + count + ")";
+    }
+
+    @Override
+    public void appendLimit(StringBuilder statement, int rowCount) {
+        statement.append(BaseDao.LIMIT).append(rowCount);
+    }
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+
+    /**
+     * The driver sends the parameter count as a 2-byte integer and rejects statements with more than
+     * {@link Short#MAX_VALUE} parameters.
+     */
+    @Override
+    public int getMaxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+}
@@ -0,0 +1,115 @@
+package otc.framework.generic.dao.dialect;
+
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the statements whose fastest form differs between databases - upserts, sequence reads, row limits,
+ * keyset predicates and multi-row inserts - along with the driver limits that bound them.
+ *
+ * <p>Implementations are stateless and thread-safe; get one from {@link SqlDialectFactory}.
+ */
+public interface SqlDialect {
+
+    /**
+     * Gets the dialect.
+     *
+     * @return the dialect, or null for the ANSI dialect used with databases not listed in {@link DIALECT}
+     */
+    DIALECT getDialect();
+
+    /**
+     * Renders an insert-or-update of one or more rows.
+     *
+     * @param table the table
+     * @param columns the inserted columns
+     * @param values the value expressions - placeholders or literals - row after row, one per column
+     * @param conflictColumns the columns of the unique key that decides between insert and update
+     * @param assignments the update expression by column; empty to leave existing rows untouched
+     * @return the statement
+     */
+    String upsert(String table, List<String> columns, List<String> values, List<String> conflictColumns,
+            Map<String, String> assignments);
+
+    /**
+     * Gets the expression referring to the value an upsert tried to insert into a column, for use in its
+     * assignments - {@code EXCLUDED.c} on PostgreSQL, {@code VALUES(c)} on MySQL.
+     *
+     * @param columnName the column name
+     * @return the expression
+     */
+    String insertedValue(String columnName);
+
+    boolean supportsSequences();
+
+    /**
+     * Renders the query reading the next value of a sequence.
+     *
+     * @param sequenceName the sequence name
+     * @return the query
+     */
+    String nextSequenceValue(String sequenceName);
+
+    /**
+     * Renders the query reading the next {@code count} values of a sequence in one round trip, one row each.
+     * The values need not be contiguous when other sessions draw from the sequence at the same time.
+     *
+     * @param sequenceName the sequence name
+     * @param count the count
+     * @return the query
+     */
+    String nextSequenceValues(String sequenceName, int count);
+
+    /**
+     * Appends the clause limiting a query to its first rows; goes after the ORDER BY.
+     *
+     * @param statement the statement
+     * @param rowCount the row count
+     */
+    void appendLimit(StringBuilder statement, int rowCount);
+
+    /**
+     * Tells whether {@code (a, b) > (?, ?)} is supported; the keyset predicate is OR-expanded otherwise.
+     *
+     * @return true, if supported
+     */
+    boolean supportsRowValueComparison();
+
+    /**
+     * Tells whether the row-limiting clause is only allowed after an ORDER BY.
+     *
+     * @return true, if an ORDER BY is required
+     */
+    boolean requiresOrderByForLimit();
+
+    /**
+     * Tells whether the driver returns the generated keys of every row of a JDBC batch, in batch order; the keys
+     * are read one row at a time otherwise.
+     *
+     * @return true, if supported
+     */
+    boolean supportsBatchGeneratedKeys();
+
+    /**
+     * Renders an insert of {@code rowCount} rows of positional placeholders in one statement.
+     *
+     * @param table the table
+     * @param columns the columns
+     * @param rowCount the row count
+     * @return the statement
+     */
+    String multiRowInsert(String table, List<String> columns, int rowCount);
+
+    int getMaxBindParameters();
+
+    int getMaxRowsPerInsert();
+
+    /**
+     * Gets the max number of values of one {@code IN (...)} list.
+     *
+     * @return the max number of values
+     */
+    int getMaxInListSize();
+}
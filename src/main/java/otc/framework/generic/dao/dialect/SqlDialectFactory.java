@@ -0,0 +1,74 @@
+package otc.framework.generic.dao.dialect;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import otc.framework.generic.dao.dto.TableMetaDataDto.DIALECT;
+
+/**
+ * Hands out the shared dialect instances, by {@link DIALECT} or by the product name a JDBC connection reports.
+ */
+public final class SqlDialectFactory {
+
+    private static final SqlDialect GENERIC = new GenericSqlDialect();
+    private static final SqlDialect ORACLE = new OracleDialect();
+    private static final SqlDialect MS_SQL = new MsSqlDialect();
+    private static final SqlDialect MYSQL = new MySqlDialect();
+    private static final SqlDialect POSTGRES = new PostgresDialect();
+
+    private SqlDialectFactory() {}
+
+    /**
+     * Gets the ANSI dialect, for databases not listed in {@link DIALECT}.
+     *
+     * @return the sql dialect
+     */
+    public static SqlDialect getGenericDialect() {
+        return GENERIC;
+    }
+
+    /**
+     * Gets the dialect.
+     *
+     * @param dialect the dialect, or null for the ANSI dialect
+     * @return the sql dialect
+     */
+    public static SqlDialect getDialect(DIALECT dialect) {
+        if (dialect == null) {
+            return GENERIC;
+        }
+        switch (dialect) {
+            case ORACLE:
+                return ORACLE;
+            case MS_SQL:
+                return MS_SQL;
+            case MYSQL:
+                return MYSQL;
+            case POSTGRES:
+                return POSTGRES;
+            default:
+                return GENERIC;
+        }
+    }
+
+    /**
+     * Gets the dialect of a database, falling back to the ANSI dialect for unlisted products.
+     *
+     * @param databaseProductName the product name, as of {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * @return the sql dialect
+     */
+    public static SqlDialect getDialect(String databaseProductName) {
+        String databaseName = JdbcUtils.commonDatabaseName(databaseProductName);
+        if (databaseName == null) {
+            return GENERIC;
+        }
+        if (databaseName.startsWith("Oracle")) {
+            return ORACLE;
+        } else if (databaseName.startsWith("Microsoft SQL Server")) {
+            return MS_SQL;
+        } else if (databaseName.startsWith("MySQL") || databaseName.startsWith("MariaDB")) {
+            return MYSQL;
+        } else if (databaseName.startsWith("PostgreSQL")) {
+            return POSTGRES;
+        }
+        return GENERIC;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.Data;
+import otc.framework.generic.dao.BaseDao;
+
+/**
+ * The Class AsyncDaoOptionsDto - sizes the executor and admission of an async dao.
+ */
+@Data
+public class AsyncDaoOptionsDto {
+
+	/** The number of statements run at once; 0 sizes it to the connection pool, if it can be read. */
+	private int maxConcurrency;
+
+	/** The number of statements admitted beyond those running, waiting for a turn. */
+	private int maxQueued = BaseDao.DEFAULT_ASYNC_QUEUE_SIZE;
+
+	/** How long a caller waits for admission once the dao is full; 0 fails fast. */
+	private long admissionTimeoutMillis;
+
+	/**
+	 * Whether to run statements on virtual threads, where the runtime has them (JDK 21+). Off by default: a driver
+	 * or pool blocking on I/O inside {@code synchronized} - pgjdbc 42.2, HikariCP - pins the carrier thread, so at
+	 * most as many statements as cores would run at once.
+	 */
+	private boolean useVirtualThreads;
+}
@@ -0,0 +1,69 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.Data;
+import otc.framework.generic.dao.BaseDao;
+
+/**
+ * The Class BatchInsertOptionsDto - tunes the streaming batch insert.
+ */
+@Data
+public class BatchInsertOptionsDto {
+
+	/**
+	 * The Enum ERROR_POLICY.
+	 */
+	public enum ERROR_POLICY {
+
+		/** Stop reading rows at the first failed chunk and throw, with the result so far. */
+		FAIL_FAST,
+		/** Record the failed chunk in the result and carry on with the next one. */
+		CONTINUE
+	};
+
+	/**
+	 * The Enum LOAD_MODE.
+	 */
+	public enum LOAD_MODE {
+
+		/** Batched JDBC inserts, on any database. */
+		BATCH,
+		/** One PostgreSQL COPY of CSV text; batched inserts on other databases. */
+		COPY_CSV,
+		/** One PostgreSQL COPY of binary values; batched inserts on other databases. */
+		COPY_BINARY
+	};
+
+	/** The number of rows sent per JDBC batch. */
+	private int batchSize = BaseDao.DEFAULT_BATCH_SIZE;
+
+	/** The number of chunks executed at once, each on its own pooled connection. */
+	private int parallelism = 1;
+
+	/** The error policy. */
+	private ERROR_POLICY errorPolicy = ERROR_POLICY.FAIL_FAST;
+
+	/** The load mode; a COPY is one atomic statement, so batch-size, parallelism and error policy do not apply. */
+	private LOAD_MODE loadMode = LOAD_MODE.BATCH;
+}
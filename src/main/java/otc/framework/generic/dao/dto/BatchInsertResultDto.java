@@ -0,0 +1,119 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.Data;
+import otc.framework.generic.dao.BaseDao;
+
+import java.util.List;
+
+/**
+ * The Class BatchInsertResultDto - the outcome of a streaming batch insert.
+ */
+@Data
+public class BatchInsertResultDto {
+
+	/** The number of rows read from the source. */
+	private long rowCount;
+
+	/** The number of rows reported inserted by the driver. */
+	private long insertedCount;
+
+	/** The number of rows in failed chunks. */
+	private long failedRowCount;
+
+	/** The number of rows in chunks skipped after a fail-fast failure. */
+	private long skippedRowCount;
+
+	/** The elapsed nanos. */
+	private long elapsedNanos;
+
+	/** The chunk results, in chunk order. */
+	private List<ChunkResultDto> chunks;
+
+	/**
+	 * Gets the rows per second.
+	 *
+	 * @return the rows per second
+	 */
+	public double getRowsPerSecond() {
+		return ChunkResultDto.rate(insertedCount, elapsedNanos);
+	}
+
+	/**
+	 * The Class ChunkResultDto.
+	 */
+	@Data
+	public static final class ChunkResultDto {
+
+		/** The chunk index, starting at 0. */
+		private int chunkIndex;
+
+		/** The number of rows in the chunk. */
+		private int rowCount;
+
+		/** The number of rows reported inserted by the driver. */
+		private int insertedCount;
+
+		/** The elapsed nanos. */
+		private long elapsedNanos;
+
+		/** The error message, if the chunk failed. */
+		private String error;
+
+		/** Whether the chunk was read but not sent, as an earlier chunk failed fast. */
+		private boolean skipped;
+
+		/**
+		 * Checks if the chunk failed.
+		 *
+		 * @return true, if failed
+		 */
+		public boolean isFailed() {
+			return error != null;
+		}
+
+		/**
+		 * Gets the rows per second.
+		 *
+		 * @return the rows per second
+		 */
+		public double getRowsPerSecond() {
+			return rate(insertedCount, elapsedNanos);
+		}
+
+		/**
+		 * Rate.
+		 *
+		 * @param count the count
+		 * @param elapsedNanos the elapsed nanos
+		 * @return the count per second
+		 */
+		static double rate(long count, long elapsedNanos) {
+			if (elapsedNanos <= 0) {
+				return 0;
+			}
+			return count * (BaseDao.NANOS_IN_ONE_MILLI * 1000d) / elapsedNanos;
+		}
+	}
+}
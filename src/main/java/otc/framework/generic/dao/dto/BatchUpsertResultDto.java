@@ -0,0 +1,73 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The Class BatchUpsertResultDto - the outcome of each row of a batch upsert.
+ */
+@Data
+public class BatchUpsertResultDto {
+
+	/**
+	 * The Enum OUTCOME - what the database reported for a row.
+	 */
+	public enum OUTCOME {
+
+		/** The row was inserted. */
+		INSERTED,
+		/** An existing row was updated. */
+		UPDATED,
+		/** The row was written, but the database does not tell an insert from an update - MERGE, MySQL's 1. */
+		INSERTED_OR_UPDATED,
+		/** An existing row was left as it was. */
+		UNCHANGED,
+		/** The driver reported no count for the row. */
+		UNKNOWN
+	};
+
+	/** The outcomes, in row order. */
+	private List<OUTCOME> outcomes;
+
+	/** The elapsed nanos. */
+	private long elapsedNanos;
+
+	/**
+	 * Gets the number of rows of an outcome.
+	 *
+	 * @param outcome the outcome
+	 * @return the count
+	 */
+	public int getCount(OUTCOME outcome) {
+		int count = 0;
+		for (OUTCOME rowOutcome : outcomes) {
+			if (rowOutcome == outcome) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
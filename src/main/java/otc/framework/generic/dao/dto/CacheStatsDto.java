@@ -0,0 +1,59 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A point-in-time snapshot of the counters of one of the DAO's internal caches.
+ */
+@Data
+@AllArgsConstructor
+public class CacheStatsDto {
+
+	/** The number of lookups answered from the cache. */
+	private long hitCount;
+
+	/** The number of lookups that had to load the value. */
+	private long missCount;
+
+	/** The number of entries dropped to honour the max-size. */
+	private long evictionCount;
+
+	/** The current number of entries. */
+	private int size;
+
+	/** The configured max-size. */
+	private int maxSize;
+
+	/**
+	 * Gets the hit ratio.
+	 *
+	 * @return the hit ratio, or 0 if the cache was never queried
+	 */
+	public double getHitRatio() {
+		long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+	}
+}
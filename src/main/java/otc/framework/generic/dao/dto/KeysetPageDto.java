@@ -0,0 +1,53 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated query.
+ *
+ * @param <T> the row type
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+
+	/** The rows of the page, at most the page size. */
+	private List<T> rows;
+
+	/** The token to pass for the next page, or null if this is the last page. */
+	private String nextToken;
+
+	/**
+	 * Checks if is last page.
+	 *
+	 * @return true, if there is no page after this one
+	 */
+	public boolean isLastPage() {
+		return nextToken == null;
+	}
+}
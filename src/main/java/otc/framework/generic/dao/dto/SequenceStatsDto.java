@@ -0,0 +1,61 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A point-in-time snapshot of the counters of one pooled sequence.
+ */
+@Data
+@AllArgsConstructor
+public class SequenceStatsDto {
+
+	/** The sequence name. */
+	private String sequenceName;
+
+	/** The number of values reserved per round trip. */
+	private int blockSize;
+
+	/** The allocation strategy. */
+	private String strategy;
+
+	/** The number of values handed out. */
+	private long allocatedCount;
+
+	/** The number of round trips made to reserve a block. */
+	private long refillCount;
+
+	/** The time spent on those round trips. */
+	private long refillNanos;
+
+	/**
+	 * Gets the average refill millis.
+	 *
+	 * @return the average refill millis, or 0 if never refilled
+	 */
+	public double getAverageRefillMillis() {
+		return refillCount == 0 ? 0 : refillNanos / 1e6 / refillCount;
+	}
+}
@@ -0,0 +1,49 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao".
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A column of a table, as reported by the database meta-data.
+ */
+@Data
+@AllArgsConstructor
+public class TableColumnDto {
+
+	/** The column name, in the case the database stores it. */
+	private String columnName;
+
+	/** The sql type, one of {@link java.sql.Types}. */
+	private int dataType;
+
+	/** The database specific type name. */
+	private String typeName;
+
+	/** The column size - the length of character columns, the precision of numeric ones. */
+	private int columnSize;
+
+	/** Whether the column accepts nulls. */
+	private boolean nullable;
+}
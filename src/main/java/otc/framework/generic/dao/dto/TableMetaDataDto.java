@@ -126,7 +126,7 @@ public class TableMetaDataDto {
 		 */
 		public String getTypeName() {
 			if (type == TYPE.VARCHAR) {
-				return new StringBuilder(BaseDao.VARCHAR + BaseDao.CLOSE_PARANTHESIS)
+				return new StringBuilder(BaseDao.VARCHAR + BaseDao.OPEN_PARANTHESIS.trim())
 						.append(length)
 						.append(BaseDao.CLOSE_PARANTHESIS)
 						.toString();
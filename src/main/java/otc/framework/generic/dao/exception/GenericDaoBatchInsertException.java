@@ -0,0 +1,50 @@
+/**
+* Copyright (c) OTC Framework
+*
+* @author  Franklin J Abel (frank.a.otc@gmail.com)
+* @version 1.0
+* @since   2020-06-08 
+*
+* This file is part of the "OTC Framework's generic-dao" library.
+* 
+*  The "generic-dao" is free library: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, version 3 of the License.
+*
+*  The generic-dao is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  A copy of the GNU General Public License is made available as 'License.md' file, 
+*  along with generic-dao project.  If not, see <https://www.gnu.org/licenses/>.
+*
+*/
+package otc.framework.generic.dao.exception;
+
+import otc.framework.generic.dao.dto.BatchInsertResultDto;
+
+/**
+ * The Class GenericDaoBatchInsertException - a fail-fast streaming batch insert stopped at a failed chunk. The
+ * chunks before it may have committed; the result tells which did.
+ */
+public class GenericDaoBatchInsertException extends GenericDaoException {
+
+	/** The result up to the failure. */
+	private final transient BatchInsertResultDto result;
+
+	public GenericDaoBatchInsertException(String message, Throwable cause, BatchInsertResultDto result) {
+		super(message, cause);
+		this.result = result;
+	}
+
+	/**
+	 * Gets the result up to the failure - the inserted, failed and skipped chunks; rows after the last chunk
+	 * were not read.
+	 *
+	 * @return the result
+	 */
+	public BatchInsertResultDto getResult() {
+		return result;
+	}
+}
@@ -0,0 +1,56 @@
+package otc.framework.generic.dao;
+
+import org.junit.jupiter.api.Test;
+import otc.framework.generic.dao.exception.GenericDaoValidationException;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the key values of a page survive the round trip through a keyset token.
+ */
+class KeysetQueryTest {
+
+    @Test
+    void tokenCarriesEveryKeyType() {
+        Object[] keyValues = {
+                "name", 42, 42L, 4.2d, new BigDecimal("-12.340"), Timestamp.valueOf("2021-03-04 05:06:07.123456789"),
+                new Date(1_614_816_000_000L), UUID.randomUUID(), LocalDate.of(2021, 3, 4),
+                LocalDateTime.of(2021, 3, 4, 5, 6, 7, 123_456_789),
+                OffsetDateTime.of(2021, 3, 4, 5, 6, 7, 123_456_789, ZoneOffset.ofHoursMinutes(-5, -30))};
+        KeysetQuery query = createQuery(keyValues.length);
+
+        assertArrayEquals(keyValues, query.decodeToken(query.encodeToken(keyValues)));
+    }
+
+    @Test
+    void tokenOfAnotherQueryIsRejected() {
+        String token = createQuery(1).encodeToken(new Object[] {LocalDate.of(2021, 3, 4)});
+
+        assertThrows(GenericDaoValidationException.class, () -> createQuery(2).decodeToken(token));
+    }
+
+    @Test
+    void unknownKeyTypeIsRejected() {
+        KeysetQuery query = createQuery(1);
+
+        assertThrows(GenericDaoValidationException.class, () -> query.encodeToken(new Object[] {new Object()}));
+    }
+
+    private static KeysetQuery createQuery(int keyCount) {
+        SelectQueryBuilder builder = SelectQueryBuilder.newBuilder().column("*").from("event");
+        for (int idx = 0; idx < keyCount; idx++) {
+            builder.orderBy("k" + idx);
+        }
+        return builder.keyset(20);
+    }
+}
@@ -0,0 +1,79 @@
+package otc.framework.generic.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the wire forms the COPY loader writes - a numeric sent wrong is stored as another number, and a CSV value
+ * quoted wrong shifts or splits the row.
+ */
+class PostgresCopyLoaderTest {
+
+    private static final int NEGATIVE = 0x4000;
+
+    @Test
+    void numericOfZeroAndFractions() {
+        assertNumeric(BigDecimal.ZERO, 0, 0, 0);
+        assertNumeric(new BigDecimal("0.5"), -1, 0, 1, 5000);
+        assertNumeric(new BigDecimal("0.00001"), -2, 0, 5, 1000);
+        assertNumeric(new BigDecimal("123456789.0001"), 2, 0, 4, 1, 2345, 6789, 1);
+    }
+
+    @Test
+    void numericOfNegatives() {
+        assertNumeric(new BigDecimal("-12.340"), 0, NEGATIVE, 3, 12, 3400);
+        assertNumeric(new BigDecimal("-0.5"), -1, NEGATIVE, 1, 5000);
+    }
+
+    @Test
+    void numericOfNegativeScale() {
+        assertNumeric(new BigDecimal("1.2E+5"), 1, 0, 0, 12);
+        assertNumeric(new BigDecimal("-1E+3"), 0, NEGATIVE, 0, 1000);
+        assertNumeric(new BigDecimal("1E+8"), 2, 0, 0, 1);
+    }
+
+    @Test
+    void csvOfNullsNumbersAndBooleans() {
+        assertCsv(null, "");
+        assertCsv(42, "42");
+        assertCsv(-4.5d, "-4.5");
+        assertCsv(new BigDecimal("1E+3"), "1000");
+        assertCsv(true, "true");
+    }
+
+    @Test
+    void csvOfStringsIsQuoted() {
+        assertCsv("", "\"\"");
+        assertCsv("plain", "\"plain\"");
+        assertCsv("say \"hi\"", "\"say \"\"hi\"\"\"");
+        assertCsv("a,b\nc\r\nd", "\"a,b\nc\r\nd\"");
+        assertCsv("\"", "\"\"\"\"");
+        assertCsv(new byte[] {0x0a, (byte) 0xff}, "\"\\x0aff\"");
+    }
+
+    /** The expected form is the length, digit count, weight, sign and display scale, then the base-10000 digits. */
+    private static void assertNumeric(BigDecimal value, int weight, int sign, int displayScale, int... digits) {
+        ByteBuffer expected = ByteBuffer.allocate(12 + 2 * digits.length);
+        expected.putInt(8 + 2 * digits.length).putShort((short) digits.length).putShort((short) weight)
+                .putShort((short) sign).putShort((short) displayScale);
+        for (int digit : digits) {
+            expected.putShort((short) digit);
+        }
+        PostgresCopyLoader.CopyBuffer buffer = new PostgresCopyLoader.CopyBuffer();
+        PostgresCopyLoader.writeNumeric(buffer, value);
+
+        assertArrayEquals(expected.array(), buffer.toByteArray(), value.toString());
+    }
+
+    private static void assertCsv(Object value, String expected) {
+        StringBuilder line = new StringBuilder();
+        PostgresCopyLoader.appendCsvValue(line, value);
+
+        assertEquals(expected, line.toString());
+    }
+}
@@ -0,0 +1,102 @@
+package otc.framework.generic.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the tables read off the sql, which decide what is cached and what a write drops - a table missed on
+ * either side would keep a stale result until it expires.
+ */
+class QueryResultCacheTest {
+
+    @Test
+    void readTablesOfJoins() {
+        assertReadTables("SELECT * FROM person WHERE id = ?", "person");
+        assertReadTables("select p.* from public.Person p join \"Address\" a on a.pid = p.id", "person", "address");
+        assertReadTables("SELECT * FROM `db`.`a` JOIN [dbo].[b] ON 1 = 1", "a", "b");
+        assertReadTables("SELECT * FROM a LEFT OUTER JOIN b USING (id)", "a", "b");
+        assertReadTables("SELECT * FROM /* hint */ a JOIN -- note\n b ON a.id = b.id", "a", "b");
+    }
+
+    @Test
+    void readTablesOfCommaJoins() {
+        assertReadTables("SELECT * FROM a, b WHERE a.id = b.id", "a", "b");
+        assertReadTables("SELECT * FROM a x, b y, c", "a", "b", "c");
+        assertReadTables("SELECT * FROM a AS x, b AS y", "a", "b");
+        assertReadTables("SELECT * FROM a WHERE x = ',b'", "a");
+    }
+
+    @Test
+    void readTablesOfSubqueriesAndCommonTableExpressions() {
+        assertReadTables("SELECT * FROM a WHERE id IN (SELECT aid FROM b)", "a", "b");
+        assertReadTables("SELECT * FROM (SELECT * FROM a) s", "a");
+        // the CTE name is read as a table, which is never opted in - the query is not cached
+        assertReadTables("WITH x AS (SELECT * FROM a) SELECT * FROM x", "a", "x");
+        assertReadTables("SELECT 1");
+    }
+
+    @Test
+    void tableMissedByTheParseIsCaught() {
+        Set<String> candidates = new HashSet<>(Arrays.asList("a", "b", "c"));
+        String sql = "SELECT * FROM a JOIN b ON a.id = b.id, c";
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), QueryResultCache.extractTables(sql));
+        assertTrue(QueryResultCache.mentionsOtherTable(sql, QueryResultCache.extractTables(sql), candidates));
+        assertFalse(QueryResultCache.mentionsOtherTable("SELECT * FROM a, B WHERE a.c_id = 1",
+                new HashSet<>(Arrays.asList("a", "b")), candidates));
+    }
+
+    @Test
+    void writtenTablesOfEachVerb() {
+        assertWrittenTables("INSERT INTO person (id) VALUES (?)", "person");
+        assertWrittenTables("insert ignore into Person values (1)", "person");
+        assertWrittenTables("REPLACE INTO a VALUES (1)", "a");
+        assertWrittenTables("UPDATE public.a SET y = 1 WHERE id = (SELECT max(id) FROM b)", "a");
+        assertWrittenTables("UPDATE ONLY a x SET y = 1", "a");
+        assertWrittenTables("DELETE FROM a USING b WHERE a.id = b.id", "a");
+        assertWrittenTables("DELETE a WHERE 1 = 1", "a");
+        assertWrittenTables("MERGE INTO t USING s ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET x = 1", "t");
+        assertWrittenTables("TRUNCATE TABLE a, public.b", "a", "b");
+        assertWrittenTables("/* c */ -- x\n UPDATE \"A\" SET y = ';'", "a");
+    }
+
+    @Test
+    void writtenTablesOfCommonTableExpressions() {
+        assertWrittenTables("WITH x AS (SELECT * FROM a) UPDATE b SET c = 1 FROM x", "b");
+        assertWrittenTables("WITH d AS (DELETE FROM a RETURNING *) INSERT INTO b SELECT * FROM d", "a", "b");
+        assertWrittenTables("WITH RECURSIVE r(n) AS (SELECT 1 UNION SELECT n + 1 FROM r WHERE n < ')') DELETE FROM q",
+                "q");
+    }
+
+    @Test
+    void writtenTablesThatCannotBeToldAreUnknown() {
+        assertWrittenTables("INSERT ALL INTO a VALUES (1) INTO b VALUES (2) SELECT 1 FROM dual");
+        assertWrittenTables("DELETE t1 FROM t1 JOIN t2 ON t1.id = t2.id");
+        assertWrittenTables("DELETE a, b FROM a JOIN b ON a.id = b.id");
+        assertWrittenTables("UPDATE a JOIN b ON a.id = b.id SET a.x = 1");
+        assertWrittenTables("UPDATE a, b SET a.x = 1");
+        assertWrittenTables("UPDATE (SELECT * FROM a) SET x = 1");
+        assertWrittenTables("UPDATE \"my table\" SET x = 1");
+        assertWrittenTables("UPDATE a SET y = 1; DELETE FROM b");
+        assertWrittenTables("CREATE TABLE z (i int)");
+        assertWrittenTables("CALL p()");
+    }
+
+    private static void assertReadTables(String sql, String... tables) {
+        assertEquals(new HashSet<>(Arrays.asList(tables)), QueryResultCache.extractTables(sql), sql);
+    }
+
+    /** No table expected means unknown - every result is dropped. */
+    private static void assertWrittenTables(String sql, String... tables) {
+        Set<String> expected = tables.length == 0 ? Collections.emptySet() : new HashSet<>(Arrays.asList(tables));
+        assertEquals(expected, QueryResultCache.extractWrittenTables(sql), sql);
+    }
+}
@@ -0,0 +1,91 @@
+package otc.framework.generic.dao;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that a warmed thread-local builder allocates far less than a new builder of the same statement - measured
+ * side by side, so the bound holds whatever the JVM, JIT mode or agent.
+ */
+class StatementBuilderAllocationTest {
+
+    private static final int WARMUP_BUILDS = 50_000;
+
+    private static final int MEASURED_BUILDS = 100_000;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    @BeforeAll
+    static void checkAllocationCounting() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Thread allocation counting is not available");
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Thread allocation counting is not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void selectThreadLocalBuilderAllocatesOnlyTheStatement() {
+        assertEquals("SELECT id, first_name, age FROM person WHERE city = ? AND age > ? ORDER BY id FETCH FIRST 50 ROWS ONLY;",
+                select(SelectQueryBuilder.threadLocalBuilder(), 1));
+        assertAtMostHalfTheBytes(idx -> select(SelectQueryBuilder.threadLocalBuilder(), idx),
+                idx -> select(SelectQueryBuilder.newBuilder(), idx));
+    }
+
+    @Test
+    void deleteThreadLocalBuilderAllocatesOnlyTheStatement() {
+        assertEquals("DELETE  FROM person WHERE city = ? AND age < ?",
+                delete(DeleteStatementBuilder.threadLocalBuilder(), 1));
+        assertAtMostHalfTheBytes(idx -> delete(DeleteStatementBuilder.threadLocalBuilder(), idx),
+                idx -> delete(DeleteStatementBuilder.newBuilder(), idx));
+    }
+
+    private static String select(SelectQueryBuilder builder, int idx) {
+        return builder.usePositionalParameters()
+                .column("id").column("first_name").column("age")
+                .from("person")
+                .where().equals("city", "city1").and().greaterThan("age", idx & 63)
+                .orderBy("id").limit(50)
+                .build();
+    }
+
+    private static String delete(DeleteStatementBuilder builder, int idx) {
+        return builder.usePositionalParameters()
+                .from("person")
+                .where().equals("city", "city1").and().lessThan("age", idx & 63)
+                .build();
+    }
+
+    /**
+     * A new builder allocates 650 to 1150 bytes per statement of about 150, the warmed thread-local one little
+     * more than the statement.
+     */
+    private static void assertAtMostHalfTheBytes(IntFunction<String> threadLocalBuild, IntFunction<String> newBuild) {
+        long threadLocalBytes = measureBytesPerBuild(threadLocalBuild);
+        long newBytes = measureBytesPerBuild(newBuild);
+        assertTrue(threadLocalBytes * 2 <= newBytes, "Allocated " + threadLocalBytes
+                + " bytes per build, expected at most half of the " + newBytes + " of a new builder");
+    }
+
+    private static long measureBytesPerBuild(IntFunction<String> build) {
+        int length = 0;
+        for (int idx = 0; idx < WARMUP_BUILDS; idx++) {
+            length += build.apply(idx).length();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int idx = 0; idx < MEASURED_BUILDS; idx++) {
+            length += build.apply(idx).length();
+        }
+        long bytesPerBuild = (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_BUILDS;
+        assertTrue(length > 0);
+        return bytesPerBuild;
+    }
+}